@@ -0,0 +1,138 @@
+package io.quarkiverse.antorassured;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A compact index of the fragment targets of a document, extracted once when the document is fetched, so that
+ * neither the body nor a DOM needs to be kept for validating the fragments of further links to the same document.
+ * <p>
+ * The index contains the {@code id}s of all elements and the {@code name}s of {@code a} elements, including the
+ * {@code user-content-} prefixed ids as produced by GitHub when rendering Markdown or AsciiDoc. In addition to that,
+ * it keeps the number of lines of the document, so that line fragments of raw text files can be validated.
+ *
+ * @since 3.33.3
+ */
+public final class AnchorIndex {
+    private static final String[] NO_ANCHORS = {};
+    private static final AnchorIndex EMPTY = new AnchorIndex(NO_ANCHORS, 0);
+    private static final String USER_CONTENT_PREFIX = "user-content-";
+
+    /** Sorted and without duplicates */
+    private final String[] anchors;
+    private final int lineCount;
+
+    private AnchorIndex(String[] anchors, int lineCount) {
+        this.anchors = anchors;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * @return an {@link AnchorIndex} without any anchors and lines
+     *
+     * @since 3.33.3
+     */
+    public static AnchorIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param anchors the anchors of a document
+     * @param lineCount the number of lines of the document
+     * @return a new {@link AnchorIndex}
+     *
+     * @since 3.33.3
+     */
+    public static AnchorIndex of(Collection<String> anchors, int lineCount) {
+        final String[] sorted = anchors.isEmpty() ? NO_ANCHORS
+                : anchors.stream().distinct().sorted().toArray(String[]::new);
+        return new AnchorIndex(sorted, lineCount);
+    }
+
+    /**
+     * @param html an HTML document
+     * @return a new {@link AnchorIndex} of the given document
+     *
+     * @since 3.33.3
+     */
+    public static AnchorIndex of(CharSequence html) {
+        final AnchorScanner scanner = new AnchorScanner();
+        scanner.scan(html);
+        return scanner.toIndex();
+    }
+
+    /**
+     * @param anchor the anchor to look up
+     * @return {@code true} if this {@link AnchorIndex} contains exactly the given {@code anchor}
+     *
+     * @since 3.33.3
+     */
+    public boolean contains(String anchor) {
+        return Arrays.binarySearch(anchors, anchor) >= 0;
+    }
+
+    /**
+     * @param fragment the fragment to look up, including the leading {@code #}
+     * @return {@code true} if the given {@code fragment} points at an element of the indexed document
+     *
+     * @since 3.33.3
+     */
+    public boolean containsFragment(String fragment) {
+        return containsFragment(this::contains, fragment);
+    }
+
+    /**
+     * @return the number of lines of the indexed document
+     *
+     * @since 3.33.3
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return the number of anchors in this {@link AnchorIndex}
+     *
+     * @since 3.33.3
+     */
+    public int size() {
+        return anchors.length;
+    }
+
+    /**
+     * @return the anchors in ascending order; the caller must not modify the returned array
+     */
+    String[] sortedAnchors() {
+        return anchors;
+    }
+
+    static boolean containsFragment(Set<String> anchors, String fragment) {
+        return containsFragment(anchors::contains, fragment);
+    }
+
+    private static boolean containsFragment(Predicate<String> anchors, String fragment) {
+        final String id = fragment.substring(1);
+        if (anchors.test(id) || anchors.test(USER_CONTENT_PREFIX + id)) {
+            return true;
+        }
+        if (id.indexOf('%') >= 0) {
+            /* Browsers decode the fragment before looking it up */
+            try {
+                final String decoded = URLDecoder.decode(id.replace("+", "%2B"), StandardCharsets.UTF_8);
+                return anchors.test(decoded) || anchors.test(USER_CONTENT_PREFIX + decoded);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "AnchorIndex[anchors=" + anchors.length + ", lineCount=" + lineCount + "]";
+    }
+}
@@ -0,0 +1,321 @@
+package io.quarkiverse.antorassured;
+
+import java.nio.CharBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jsoup.parser.Parser;
+
+/**
+ * An incremental HTML tokenizer collecting the targets of fragments: the values of {@code id} attributes of any
+ * element and the values of {@code name} attributes of {@code a} elements. The input can be passed in chunks of any
+ * size, so that a document can be scanned while it is being downloaded without building a DOM.
+ * <p>
+ * Comments and the content of {@code script} and {@code style} elements are skipped.
+ * <p>
+ * Optionally, the {@code href} attributes of {@code a} elements can be passed to a consumer, so that the links of a page
+ * can be extracted without building a DOM.
+ * <p>
+ * The lines are counted too, so that the resulting {@link AnchorIndex} can serve also for validating line fragments
+ * of raw text files.
+ */
+class AnchorScanner {
+    /** Longer attribute values are not fragment targets in practice and we do not want to buffer them */
+    static final int MAX_VALUE_LENGTH = 2048;
+    /** Links may be long, e.g. with a big query, but still we need some limit */
+    static final int MAX_HREF_LENGTH = 65536;
+
+    private static final int TEXT = 0;
+    private static final int TAG_OPEN = 1;
+    private static final int TAG_NAME = 2;
+    private static final int BEFORE_ATTR_NAME = 3;
+    private static final int ATTR_NAME = 4;
+    private static final int AFTER_ATTR_NAME = 5;
+    private static final int BEFORE_ATTR_VALUE = 6;
+    private static final int ATTR_VALUE_DOUBLE_QUOTED = 7;
+    private static final int ATTR_VALUE_SINGLE_QUOTED = 8;
+    private static final int ATTR_VALUE_UNQUOTED = 9;
+    private static final int MARKUP_DECLARATION = 10;
+    private static final int MARKUP_DECLARATION_DASH = 11;
+    private static final int COMMENT = 12;
+    /** End tags, doctype, processing instructions and the like: skip until {@code >} */
+    private static final int SKIP_TAG = 13;
+    private static final int RAW_TEXT = 14;
+    /** After {@link #rawTextEnd}: the end tag is complete only if the tag name ends here */
+    private static final int RAW_TEXT_END = 15;
+
+    private final Set<String> anchors = new HashSet<>();
+    /** {@code null} if {@code href} attributes should be ignored */
+    private final Consumer<String> hrefs;
+    private int lineCount = 1;
+    private final StringBuilder tagName = new StringBuilder();
+    private final StringBuilder attrName = new StringBuilder();
+    private final StringBuilder attrValue = new StringBuilder();
+    private int state = TEXT;
+    private int dashCount;
+    /** The end tag closing the current raw text element, such as {@code </script} */
+    private String rawTextEnd;
+    private int rawTextMatched;
+
+    AnchorScanner() {
+        this(null);
+    }
+
+    /**
+     * @param hrefs the consumer of the {@code href} attribute values of {@code a} elements with entities decoded or
+     *        {@code null}
+     */
+    AnchorScanner(Consumer<String> hrefs) {
+        this.hrefs = hrefs;
+    }
+
+    /**
+     * @return the anchors found so far
+     */
+    Set<String> anchors() {
+        return anchors;
+    }
+
+    /**
+     * @return a new {@link AnchorIndex} containing the anchors and the number of lines scanned so far
+     */
+    AnchorIndex toIndex() {
+        return AnchorIndex.of(anchors, lineCount);
+    }
+
+    /**
+     * Scans the remaining characters of the given {@link CharBuffer}.
+     *
+     * @param chars the next chunk of the document
+     */
+    void scan(CharBuffer chars) {
+        while (chars.hasRemaining()) {
+            scan(chars.get());
+        }
+    }
+
+    void scan(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            scan(chars.charAt(i));
+        }
+    }
+
+    private void scan(char c) {
+        if (c == '\n') {
+            lineCount++;
+        }
+        switch (state) {
+            case TEXT:
+                if (c == '<') {
+                    state = TAG_OPEN;
+                }
+                break;
+            case TAG_OPEN:
+                if (isAsciiLetter(c)) {
+                    tagName.setLength(0);
+                    tagName.append(Character.toLowerCase(c));
+                    state = TAG_NAME;
+                } else if (c == '!') {
+                    state = MARKUP_DECLARATION;
+                } else if (c == '/' || c == '?') {
+                    state = SKIP_TAG;
+                } else if (c != '<') {
+                    state = TEXT;
+                }
+                break;
+            case MARKUP_DECLARATION:
+                state = c == '-' ? MARKUP_DECLARATION_DASH : skipTag(c);
+                break;
+            case MARKUP_DECLARATION_DASH:
+                if (c == '-') {
+                    dashCount = 0;
+                    state = COMMENT;
+                } else {
+                    state = skipTag(c);
+                }
+                break;
+            case COMMENT:
+                if (c == '-') {
+                    dashCount++;
+                } else if (c == '>' && dashCount >= 2) {
+                    state = TEXT;
+                } else {
+                    dashCount = 0;
+                }
+                break;
+            case SKIP_TAG:
+                state = skipTag(c);
+                break;
+            case TAG_NAME:
+                if (isWhitespace(c) || c == '/') {
+                    state = BEFORE_ATTR_NAME;
+                } else if (c == '>') {
+                    endStartTag();
+                } else {
+                    tagName.append(Character.toLowerCase(c));
+                }
+                break;
+            case BEFORE_ATTR_NAME:
+                if (c == '>') {
+                    endStartTag();
+                } else if (!isWhitespace(c) && c != '/') {
+                    startAttribute(c);
+                }
+                break;
+            case ATTR_NAME:
+                if (isWhitespace(c)) {
+                    state = AFTER_ATTR_NAME;
+                } else if (c == '=') {
+                    state = BEFORE_ATTR_VALUE;
+                } else if (c == '>') {
+                    endAttribute();
+                    endStartTag();
+                } else if (c == '/') {
+                    endAttribute();
+                    state = BEFORE_ATTR_NAME;
+                } else {
+                    attrName.append(Character.toLowerCase(c));
+                }
+                break;
+            case AFTER_ATTR_NAME:
+                if (c == '=') {
+                    state = BEFORE_ATTR_VALUE;
+                } else if (c == '>') {
+                    endAttribute();
+                    endStartTag();
+                } else if (!isWhitespace(c)) {
+                    endAttribute();
+                    if (c == '/') {
+                        state = BEFORE_ATTR_NAME;
+                    } else {
+                        startAttribute(c);
+                    }
+                }
+                break;
+            case BEFORE_ATTR_VALUE:
+                if (c == '"') {
+                    state = ATTR_VALUE_DOUBLE_QUOTED;
+                } else if (c == '\'') {
+                    state = ATTR_VALUE_SINGLE_QUOTED;
+                } else if (c == '>') {
+                    endAttribute();
+                    endStartTag();
+                } else if (!isWhitespace(c)) {
+                    appendValue(c);
+                    state = ATTR_VALUE_UNQUOTED;
+                }
+                break;
+            case ATTR_VALUE_DOUBLE_QUOTED:
+                if (c == '"') {
+                    endAttribute();
+                    state = BEFORE_ATTR_NAME;
+                } else {
+                    appendValue(c);
+                }
+                break;
+            case ATTR_VALUE_SINGLE_QUOTED:
+                if (c == '\'') {
+                    endAttribute();
+                    state = BEFORE_ATTR_NAME;
+                } else {
+                    appendValue(c);
+                }
+                break;
+            case ATTR_VALUE_UNQUOTED:
+                if (isWhitespace(c)) {
+                    endAttribute();
+                    state = BEFORE_ATTR_NAME;
+                } else if (c == '>') {
+                    endAttribute();
+                    endStartTag();
+                } else {
+                    appendValue(c);
+                }
+                break;
+            case RAW_TEXT:
+                if (Character.toLowerCase(c) == rawTextEnd.charAt(rawTextMatched)) {
+                    if (++rawTextMatched == rawTextEnd.length()) {
+                        state = RAW_TEXT_END;
+                    }
+                } else {
+                    rawTextMatched = c == '<' ? 1 : 0;
+                }
+                break;
+            case RAW_TEXT_END:
+                if (c == '>') {
+                    state = TEXT;
+                } else if (isWhitespace(c) || c == '/') {
+                    state = SKIP_TAG;
+                } else {
+                    /* Such as </scriptx> */
+                    rawTextMatched = c == '<' ? 1 : 0;
+                    state = RAW_TEXT;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected state " + state);
+        }
+    }
+
+    private static int skipTag(char c) {
+        return c == '>' ? TEXT : SKIP_TAG;
+    }
+
+    private void startAttribute(char c) {
+        attrName.setLength(0);
+        attrName.append(Character.toLowerCase(c));
+        attrValue.setLength(0);
+        state = ATTR_NAME;
+    }
+
+    private void appendValue(char c) {
+        if (attrValue.length() < (isHref() ? MAX_HREF_LENGTH : MAX_VALUE_LENGTH)) {
+            attrValue.append(c);
+        }
+    }
+
+    private boolean isHref() {
+        return hrefs != null && contentEquals(attrName, "href") && contentEquals(tagName, "a");
+    }
+
+    private void endAttribute() {
+        if (isHref()) {
+            if (attrValue.length() < MAX_HREF_LENGTH) {
+                hrefs.accept(decodeEntities(attrValue));
+            }
+        } else if (attrValue.length() > 0 && attrValue.length() < MAX_VALUE_LENGTH
+                && (contentEquals(attrName, "id") || (contentEquals(attrName, "name") && contentEquals(tagName, "a")))) {
+            anchors.add(decodeEntities(attrValue));
+        }
+        attrName.setLength(0);
+        attrValue.setLength(0);
+    }
+
+    private void endStartTag() {
+        if (contentEquals(tagName, "script") || contentEquals(tagName, "style")) {
+            rawTextEnd = "</" + tagName;
+            rawTextMatched = 0;
+            state = RAW_TEXT;
+        } else {
+            state = TEXT;
+        }
+    }
+
+    static String decodeEntities(CharSequence value) {
+        final String str = value.toString();
+        return str.indexOf('&') < 0 ? str : Parser.unescapeEntities(str, true);
+    }
+
+    private static boolean contentEquals(StringBuilder sb, String str) {
+        return sb.length() == str.length() && sb.indexOf(str) == 0;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+}
@@ -1,23 +1,29 @@
 package io.quarkiverse.antorassured;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jboss.logging.Logger;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 
 /**
  * A utility for testing the generated Antora sites.
@@ -77,27 +83,55 @@ public class AntorAssured {
      * @since 1.0.0
      */
     public static LinkStream links(ResourceResolver resourceResolver) {
-        final Map<Link, Set<Path>> result = new TreeMap<>();
+        final List<Path> pages;
         try (Stream<Path> paths = AntorAssured.htmlResources()) {
-            paths.forEach(p -> {
-                try {
-                    final Document doc = Jsoup.parse(p);
-                    for (Element link : doc.select("a[href]")) {
-                        final String linkHref = link.attr("href");
-                        final Link resolved = resourceResolver.resolveUri(p, linkHref);
-                        result.computeIfAbsent(resolved, k -> new TreeSet<Path>()).add(p);
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException("Could not parse " + p, e);
-                }
-            });
+            pages = paths.collect(Collectors.toList());
         }
-        final Stream<Link> links = result.entrySet()
+        /*
+         * The pages are scanned in parallel while the stream is consumed, so that the first links can get validated
+         * while the remaining pages are still being scanned. Each link is passed downstream only once, when it is
+         * found for the first time; its occurrences keep growing until all pages are scanned.
+         */
+        final Map<Link, Set<Path>> occurrences = new ConcurrentHashMap<>();
+        final Stream<Link> links = pages
                 .parallelStream()
-                .map(en -> en.getKey().withOccurrences(en.getValue()));
+                .flatMap(page -> hrefs(page).stream()
+                        .map(href -> resourceResolver.resolveUri(page, href))
+                        .map(link -> {
+                            final Set<Path> newSet = new ConcurrentSkipListSet<>();
+                            final Set<Path> set = occurrences.putIfAbsent(link, newSet);
+                            if (set != null) {
+                                set.add(page);
+                                return null;
+                            }
+                            newSet.add(page);
+                            return new Link(link.originalUri(), link.resolvedUri(), Collections.unmodifiableSet(newSet));
+                        })
+                        .filter(Objects::nonNull));
         return new LinkStream(links, resourceResolver, 1, 30_000L);
     }
 
+    /**
+     * @param page the HTML file to scan
+     * @return the values of {@code href} attributes of {@code a} elements occurring in the given {@code page}
+     */
+    static List<String> hrefs(Path page) {
+        final List<String> result = new ArrayList<>();
+        final AnchorScanner scanner = new AnchorScanner(result::add);
+        /* Unlike Files.newBufferedReader(), InputStreamReader replaces malformed input instead of failing */
+        try (Reader r = new InputStreamReader(Files.newInputStream(page), StandardCharsets.UTF_8)) {
+            final CharBuffer buffer = CharBuffer.allocate(8192);
+            while (r.read(buffer) >= 0) {
+                buffer.flip();
+                scanner.scan(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not parse " + page, e);
+        }
+        return result;
+    }
+
     private static Stream<Path> listHtmlFiles(Path path) {
         try {
             return Files.walk(path)
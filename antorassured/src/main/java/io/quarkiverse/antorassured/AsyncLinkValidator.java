@@ -0,0 +1,215 @@
+package io.quarkiverse.antorassured;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow.Subscription;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.antorassured.LinkValidator.AbstractLinkValidator;
+
+/**
+ * A {@link LinkValidator} sending non-blocking requests via a shared {@link HttpClient}, so that the connections are
+ * kept alive and reused and the requests to HTTP/2 capable hosts are multiplexed over a single connection.
+ * The number of requests in flight is limited both overall and per host.
+ *
+ * @since 3.33.3
+ */
+class AsyncLinkValidator extends AbstractLinkValidator {
+    private static final Logger log = Logger.getLogger(AntorAssured.class);
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("(?i)charset=\"?([^\";\\s]+)");
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 64;
+    /** The same as the limit of connections per host of common web browsers */
+    static final int DEFAULT_MAX_IN_FLIGHT_PER_HOST = 6;
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    /** jsoup sends a browser like {@code User-Agent} by default and some servers reject other agents */
+    static final String USER_AGENT = org.jsoup.helper.HttpConnection.DEFAULT_UA;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.ALWAYS)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private final InFlightLimit inFlight;
+    private final int maxInFlightPerHost;
+    private final Map<String, InFlightLimit> inFlightByHost = new ConcurrentHashMap<>();
+
+    AsyncLinkValidator(int maxInFlight, int maxInFlightPerHost) {
+        if (maxInFlight < 1 || maxInFlightPerHost < 1) {
+            throw new IllegalArgumentException("maxInFlight and maxInFlightPerHost must be greater than 0");
+        }
+        this.inFlight = new InFlightLimit(maxInFlight);
+        this.maxInFlightPerHost = maxInFlightPerHost;
+    }
+
+    @Override
+    CompletableFuture<CacheEntry> fetch(String fragmentlessUri, LinkGroup group, int attempt, FetchMethod method,
+            Response cached) {
+        final HttpRequest request;
+        try {
+            request = request(fragmentlessUri, group.headers(), method, cached);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    CacheEntry.invalid(Response.none(fragmentlessUri), "Cannot fetch: " + e.getMessage()));
+        }
+        final CompletableFuture<CacheEntry> result = new CompletableFuture<>();
+        final InFlightLimit hostInFlight = inFlightByHost.computeIfAbsent(String.valueOf(request.uri().getHost()),
+                k -> new InFlightLimit(maxInFlightPerHost));
+        hostInFlight.submit(() -> inFlight.submit(() -> client
+                .sendAsync(request, responseInfo -> {
+                    final Function<String, String> headers = name -> responseInfo.headers().firstValue(name).orElse(null);
+                    return new BodyReaderSubscriber(bodyReader(fragmentlessUri, group, method,
+                            responseInfo.statusCode(), charset(charsetName(headers.apply("Content-Type"))), headers));
+                })
+                .whenComplete((resp, e) -> {
+                    inFlight.release();
+                    hostInFlight.release();
+                    result.complete(e == null
+                            ? toCacheEntry(resp.body(), resp.headers().firstValue("Retry-After").orElse(null), attempt,
+                                    method)
+                            : failure(fragmentlessUri, request.uri(), e));
+                })));
+        return result;
+    }
+
+    /**
+     * Passes the chunks of the body to a {@link BodyReader} as they arrive and cancels the subscription as soon as the
+     * {@link BodyReader} does not want more.
+     */
+    static class BodyReaderSubscriber implements BodySubscriber<Response> {
+        private final BodyReader bodyReader;
+        private final CompletableFuture<Response> body = new CompletableFuture<>();
+        private Subscription subscription;
+
+        BodyReaderSubscriber(BodyReader bodyReader) {
+            this.bodyReader = bodyReader;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (bodyReader.wantsMore()) {
+                subscription.request(1);
+            } else {
+                stop();
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> chunks) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer chunk : chunks) {
+                if (!bodyReader.feed(chunk)) {
+                    stop();
+                    return;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!body.isDone()) {
+                body.complete(bodyReader.finish(true));
+            }
+        }
+
+        @Override
+        public CompletionStage<Response> getBody() {
+            return body;
+        }
+
+        private void stop() {
+            subscription.cancel();
+            body.complete(bodyReader.finish(false));
+        }
+    }
+
+    static HttpRequest request(String fragmentlessUri, Map<String, List<String>> headers, FetchMethod method,
+            Response cached) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(fragmentlessUri))
+                .timeout(REQUEST_TIMEOUT);
+        switch (method) {
+            case HEAD:
+                builder.method("HEAD", BodyPublishers.noBody());
+                break;
+            case RANGE:
+                builder.GET().header("Range", "bytes=0-0");
+                break;
+            default:
+                builder.GET();
+                break;
+        }
+        boolean userAgent = false;
+        if (headers != null) {
+            for (Entry<String, List<String>> header : headers.entrySet()) {
+                userAgent |= header.getKey().equalsIgnoreCase("User-Agent");
+                for (String val : header.getValue()) {
+                    builder.header(header.getKey(), val);
+                }
+            }
+        }
+        if (!userAgent) {
+            builder.header("User-Agent", USER_AGENT);
+        }
+        conditionalHeaders(cached, builder::header);
+        return builder.build();
+    }
+
+    static String charsetName(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        final Matcher m = CHARSET_PATTERN.matcher(contentType);
+        return m.find() ? m.group(1) : null;
+    }
+
+    static CacheEntry failure(String fragmentlessUri, URI uri, Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnresolvedAddressException || cause instanceof UnknownHostException) {
+                return CacheEntry.invalid(Response.none(fragmentlessUri), "Unknown host " + uri.getHost());
+            }
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return CacheEntry.invalid(Response.none(fragmentlessUri),
+                        cause.getMessage() != null ? "Unable to connect: " + cause.getMessage() : "Unable to connect");
+            }
+            if (cause instanceof HttpTimeoutException) {
+                return CacheEntry.invalid(Response.none(fragmentlessUri), "Timeout: " + cause.getMessage());
+            }
+        }
+        if (!(e instanceof IOException)) {
+            log.debugf(e, "Could not fetch %s", fragmentlessUri);
+        }
+        return CacheEntry.invalid(Response.none(fragmentlessUri), stackTrace(e));
+    }
+}
@@ -0,0 +1,217 @@
+package io.quarkiverse.antorassured;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.quarkiverse.antorassured.Response.BodyState;
+
+/**
+ * Consumes a response body chunk by chunk as it arrives from the network and turns it into a {@link Response}.
+ * <p>
+ * In the anchor scanning mode, the body is not buffered at all. Instead, it is passed through an
+ * {@link AnchorScanner} producing an {@link AnchorIndex} and the reading stops as soon as all wanted fragments were
+ * found. Otherwise, the body is buffered as a whole. In both modes, the reading stops once more than
+ * {@code maxBodySize} bytes were read.
+ */
+class BodyReader {
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    private final String uri;
+    private final int statusCode;
+    private final Charset charset;
+    private final String contentType;
+    private final String etag;
+    private final String lastModified;
+    private final long maxBodySize;
+    private final Set<String> wantedFragments;
+
+    /* Anchor scanning mode */
+    private final AnchorScanner scanner;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars;
+    private ByteBuffer leftover;
+
+    /* Buffering mode */
+    private final ByteArrayOutputStream bytes;
+
+    private long size = 0;
+    /** {@code null} while the reading is in progress */
+    private BodyState state;
+
+    private BodyReader(String uri, int statusCode, Charset charset, Function<String, String> headers, long maxBodySize,
+            boolean scanAnchors, Set<String> wantedFragments, BodyState state) {
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.charset = charset;
+        this.contentType = headers.apply("Content-Type");
+        this.etag = headers.apply("ETag");
+        this.lastModified = headers.apply("Last-Modified");
+        this.maxBodySize = maxBodySize;
+        this.wantedFragments = wantedFragments;
+        if (scanAnchors) {
+            this.scanner = new AnchorScanner();
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+            this.bytes = null;
+        } else {
+            this.scanner = null;
+            this.decoder = null;
+            this.chars = null;
+            this.bytes = state == null ? new ByteArrayOutputStream() : null;
+        }
+        this.state = state;
+        if (state == null && scanAnchors && foundAll()) {
+            /* Nothing wanted, so there is no need to read anything */
+            this.state = BodyState.PARTIAL;
+        }
+    }
+
+    /**
+     * @return a {@link BodyReader} not reading anything
+     */
+    static BodyReader skip(String uri, int statusCode, Charset charset, Function<String, String> headers) {
+        return new BodyReader(uri, statusCode, charset, headers, 0, false, null, BodyState.NOT_READ);
+    }
+
+    /**
+     * @param wantedFragments the fragments, including the leading {@code #}, whose presence should be checked; the
+     *        reading stops once all of them were found; the set may grow while the body is being read; if
+     *        {@code null}, the whole body is scanned
+     * @return a {@link BodyReader} collecting the anchors of an HTML document
+     */
+    static BodyReader anchors(String uri, int statusCode, Charset charset, Function<String, String> headers,
+            long maxBodySize, Set<String> wantedFragments) {
+        return new BodyReader(uri, statusCode, charset, headers, maxBodySize, true, wantedFragments, null);
+    }
+
+    /**
+     * @return a {@link BodyReader} buffering the whole body
+     */
+    static BodyReader bytes(String uri, int statusCode, Charset charset, Function<String, String> headers,
+            long maxBodySize) {
+        return new BodyReader(uri, statusCode, charset, headers, maxBodySize, false, null, null);
+    }
+
+    /**
+     * @return {@code true} if the caller should pass more chunks of the body; {@code false} if the reading should stop
+     */
+    boolean wantsMore() {
+        return state == null;
+    }
+
+    /**
+     * Consumes the remaining bytes of the given {@link ByteBuffer}.
+     *
+     * @param chunk the next chunk of the body
+     * @return {@link #wantsMore()}
+     */
+    boolean feed(ByteBuffer chunk) {
+        if (state != null) {
+            return false;
+        }
+        final int len = chunk.remaining();
+        if (size + len > maxBodySize) {
+            /* Consume the allowed part so that we do not miss the anchors in it */
+            final ByteBuffer allowed = chunk.slice();
+            allowed.limit((int) (maxBodySize - size));
+            consume(allowed);
+            size = maxBodySize;
+            state = BodyState.TOO_BIG;
+            return false;
+        }
+        size += len;
+        consume(chunk);
+        if (scanner != null && foundAll()) {
+            state = BodyState.PARTIAL;
+        }
+        return state == null;
+    }
+
+    void feed(byte[] buffer, int offset, int length) {
+        feed(ByteBuffer.wrap(buffer, offset, length));
+    }
+
+    /**
+     * @param endOfInput {@code true} if the whole body was passed via {@link #feed(ByteBuffer)}
+     * @return a new {@link Response}
+     */
+    Response finish(boolean endOfInput) {
+        if (state == null) {
+            if (scanner != null) {
+                decode(ByteBuffer.allocate(0), true);
+            }
+            state = endOfInput ? BodyState.COMPLETE : BodyState.PARTIAL;
+        }
+        final byte[] body = state == BodyState.COMPLETE && bytes != null ? bytes.toByteArray() : null;
+        return new Response(uri, statusCode, charset, contentType, body, scanner != null ? scanner.toIndex() : null,
+                state, etag, lastModified);
+    }
+
+    private void consume(ByteBuffer chunk) {
+        if (scanner != null) {
+            decode(chunk, false);
+        } else {
+            if (chunk.hasArray()) {
+                bytes.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+                chunk.position(chunk.limit());
+            } else {
+                final byte[] copy = new byte[chunk.remaining()];
+                chunk.get(copy);
+                bytes.write(copy, 0, copy.length);
+            }
+        }
+    }
+
+    private void decode(ByteBuffer chunk, boolean endOfInput) {
+        final ByteBuffer in;
+        if (leftover != null) {
+            /* A multi-byte character was split between the chunks */
+            in = ByteBuffer.allocate(leftover.remaining() + chunk.remaining());
+            in.put(leftover).put(chunk).flip();
+            leftover = null;
+        } else {
+            in = chunk;
+        }
+        CoderResult result;
+        do {
+            result = decoder.decode(in, chars, endOfInput);
+            chars.flip();
+            scanner.scan(chars);
+            chars.clear();
+        } while (result.isOverflow());
+        if (endOfInput) {
+            while (decoder.flush(chars).isOverflow()) {
+                chars.flip();
+                scanner.scan(chars);
+                chars.clear();
+            }
+            chars.flip();
+            scanner.scan(chars);
+            chars.clear();
+        } else if (in.hasRemaining()) {
+            leftover = ByteBuffer.allocate(in.remaining());
+            leftover.put(in).flip();
+        }
+    }
+
+    private boolean foundAll() {
+        if (wantedFragments == null) {
+            return false;
+        }
+        for (String fragment : wantedFragments) {
+            if (!AnchorIndex.containsFragment(scanner.anchors(), fragment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
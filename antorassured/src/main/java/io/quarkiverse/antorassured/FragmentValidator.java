@@ -3,11 +3,6 @@ package io.quarkiverse.antorassured;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.jboss.logging.Logger;
-import org.jsoup.nodes.Document;
-import org.jsoup.select.Elements;
-import org.jsoup.select.Selector.SelectorParseException;
-
 /**
  * Validates fragments, such as {@code #chapter-one} which possibly occur at the end of URIs.
  *
@@ -27,6 +22,21 @@ public interface FragmentValidator {
      */
     ValidationResult validate(Link link, Response response);
 
+    /**
+     * Link validators may save some bandwidth and a lot of memory if the whole {@link Response#body()} is not needed,
+     * because then only a compact {@link AnchorIndex} is extracted from the body while it is being read and the body
+     * itself is not kept.
+     * The default implementation returns {@code true}.
+     *
+     * @return {@code true} if {@link #validate(Link, Response)} needs {@link Response#body()}; {@code false} if it only
+     *         needs {@link Response#anchors()}
+     *
+     * @since 3.33.3
+     */
+    default boolean needsBody() {
+        return true;
+    }
+
     /**
      * @return a {@link FragmentValidator} that always returns a valid {@link ValidationResult}.
      *
@@ -104,16 +114,7 @@ public interface FragmentValidator {
             final boolean isLinesFragment = mm.matches();
 
             if (isLineFragment || isLinesFragment) {
-                final String bodyString = response.bodyAsString();
-                final RawTextDocument text = response.bodyAs(RawTextDocument.class, resp -> {
-                    int lastLineNumber = 1;
-                    for (int i = 0; i < bodyString.length(); i++) {
-                        if (bodyString.charAt(i) == '\n') {
-                            lastLineNumber++;
-                        }
-                    }
-                    return new RawTextDocument(lastLineNumber);
-                });
+                final RawTextDocument text = new RawTextDocument(response.anchors().lineCount());
                 if (isLineFragment) {
                     if (text.hasLine(Integer.parseInt(m.group(1)))) {
                         return ValidationResult.valid(link, response.statusCode());
@@ -132,12 +133,14 @@ public interface FragmentValidator {
             return ValidationResult.invalid(link, response.statusCode(), "Fragment " + fragment + " not supported", -1);
         }
 
+        @Override
+        public boolean needsBody() {
+            return false;
+        }
     }
 
     static class DefaultFragmentValidator implements FragmentValidator {
-        private static final Logger log = Logger.getLogger(AntorAssured.class);
         private static final FragmentValidator INSTANCE = new DefaultFragmentValidator();
-        private static final Pattern JAVADOC_FRAGMENT_CHARS = Pattern.compile("[\\(\\)\\,\\.]");
 
         @Override
         public ValidationResult validate(Link link, Response response) {
@@ -148,36 +151,16 @@ public interface FragmentValidator {
             }
 
             /* Find the fragment */
-            final Document doc = response.bodyAsHtmlDocument();
-
-            if (JAVADOC_FRAGMENT_CHARS.matcher(fragment).find()) {
-                /* Those chars are illegal in CSS selectors, so Jsoup will fail at parsing the selector */
-                final String id = fragment.substring(1);
-                if (doc.getElementById(id) != null) {
-                    return ValidationResult.valid(link, response.statusCode());
-                } else {
-                    return ValidationResult.invalid(link, response.statusCode(), "Could not find " + fragment, -1);
-                }
+            if (response.anchors().containsFragment(fragment)) {
+                return ValidationResult.valid(link, response.statusCode());
+            } else {
+                return ValidationResult.invalid(link, response.statusCode(), "Could not find " + fragment, -1);
             }
+        }
 
-            try {
-                Elements foundElems = doc.select(fragment);
-                if (foundElems.isEmpty()) {
-                    foundElems = doc.select("a[name=\"" + fragment.substring(1) + "\"]");
-                }
-                if (foundElems.isEmpty()) {
-                    final String id = fragment.substring(1);
-                    foundElems = doc.select("#user-content-" + id);
-                }
-                if (!foundElems.isEmpty()) {
-                    return ValidationResult.valid(link, response.statusCode());
-                } else {
-                    return ValidationResult.invalid(link, response.statusCode(), "Could not find " + fragment, -1);
-                }
-            } catch (SelectorParseException e) {
-                log.error("Bad fragment: " + fragment + " in URI " + link.originalUri(), e);
-                throw e;
-            }
-        };
+        @Override
+        public boolean needsBody() {
+            return false;
+        }
     }
 }
@@ -0,0 +1,86 @@
+package io.quarkiverse.antorassured;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A non-blocking limit of concurrently running tasks. The tasks over the limit are queued and run by a thread calling
+ * {@link #submit(Runnable)} or {@link #release()} once there is room for them.
+ * <p>
+ * Tasks may call {@link #release()} before returning, e.g. if they fail to hand their work over to an executor. Such
+ * calls only update the counters and the queued tasks are run by the loop in the frame further up the stack, so that
+ * the stack does not grow with the number of queued tasks.
+ */
+class InFlightLimit {
+    private final int max;
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private int running;
+    /** {@code true} while some thread is running queued tasks in {@link #drain()} */
+    private boolean draining;
+
+    InFlightLimit(int max) {
+        this.max = max;
+    }
+
+    /**
+     * Runs the given {@code task} if the limit allows, otherwise queues it. The task is run in the calling thread,
+     * unless some other thread is running queued tasks already, which then runs this one too. Each task must lead to
+     * calling {@link #release()} exactly once.
+     *
+     * @param task the task to run
+     */
+    void submit(Runnable task) {
+        synchronized (this) {
+            waiting.add(task);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        drain();
+    }
+
+    /**
+     * Marks one task as finished and runs the next queued ones, if any.
+     */
+    void release() {
+        synchronized (this) {
+            running--;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            final Runnable next;
+            synchronized (this) {
+                next = running < max ? waiting.poll() : null;
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+                running++;
+            }
+            try {
+                next.run();
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    synchronized int running() {
+        return running;
+    }
+
+    synchronized int waiting() {
+        return waiting.size();
+    }
+}
@@ -135,6 +135,13 @@ public class Link implements Comparable<Link> {
         return new Link(this, originalUri, resolvedUri, occurrences);
     }
 
+    /**
+     * @return the {@link Link} from which this {@link Link} was created by {@link #mapToUri(String)} or {@code null}
+     */
+    Link mappedFrom() {
+        return mappedFrom;
+    }
+
     /**
      * @return {@code true} if {@link #resolvedUri} contains any of {@code //localhost}, {@code //127.0.0.1} or {@code //[::1]}
      *         as a substring
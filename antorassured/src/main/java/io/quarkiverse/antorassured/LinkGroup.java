@@ -1,5 +1,6 @@
 package io.quarkiverse.antorassured;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
@@ -18,6 +19,11 @@ import io.quarkiverse.antorassured.AggregatePolicy.AggregatePolicyResult;
  * @since 2.0.0
  */
 public class LinkGroup {
+    /** The default value of {@link #maxBodySize()}: 10 MiB */
+    static final long DEFAULT_MAX_BODY_SIZE = 10L * 1024 * 1024;
+    /** The default value of {@link #cacheTtl()}: 1 day */
+    static final Duration DEFAULT_CACHE_TTL = Duration.ofDays(1);
+
     private final LinkStream parent;
     private final Pattern pattern;
     private final RateLimit rateLimit;
@@ -28,6 +34,9 @@ public class LinkGroup {
     private final Map<String, List<String>> headers;
     final Function<Link, Link> linkMapper;
     private final FragmentValidator fragmentValidator;
+    private final ProbeStrategy probeStrategy;
+    private final long maxBodySize;
+    private final Duration cacheTtl;
 
     LinkGroup(
             LinkStream parent,
@@ -39,7 +48,10 @@ public class LinkGroup {
             List<AggregatePolicy> continuationPolicies,
             List<AggregatePolicy> finalPolicies,
             LinkGroupStats stats,
-            FragmentValidator fragmentValidator) {
+            FragmentValidator fragmentValidator,
+            ProbeStrategy probeStrategy,
+            long maxBodySize,
+            Duration cacheTtl) {
         this.parent = parent;
         this.pattern = pattern;
         this.linkMapper = linkMapper;
@@ -50,6 +62,9 @@ public class LinkGroup {
         this.finalPolicies = finalPolicies;
         this.stats = stats;
         this.fragmentValidator = fragmentValidator;
+        this.probeStrategy = probeStrategy;
+        this.maxBodySize = maxBodySize;
+        this.cacheTtl = cacheTtl;
     }
 
     /**
@@ -69,7 +84,10 @@ public class LinkGroup {
                 continuationPolicies,
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     /**
@@ -111,7 +129,10 @@ public class LinkGroup {
                 continuationPolicies,
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     public Map<String, List<String>> headers() {
@@ -167,7 +188,10 @@ public class LinkGroup {
                 continuationPolicies,
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     /**
@@ -187,7 +211,10 @@ public class LinkGroup {
                 continuationPolicies,
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     /**
@@ -234,7 +261,10 @@ public class LinkGroup {
                 continuationPolicies,
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     /**
@@ -258,7 +288,10 @@ public class LinkGroup {
                 copyAndAdd(continuationPolicies, assertion),
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     /**
@@ -284,7 +317,10 @@ public class LinkGroup {
                 continuationPolicies,
                 copyAndAdd(finalPolicies, policy),
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     public LinkGroup fragmentValidator(FragmentValidator fragmentValidator) {
@@ -298,13 +334,137 @@ public class LinkGroup {
                 continuationPolicies,
                 finalPolicies,
                 stats,
-                fragmentValidator);
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
     }
 
     public FragmentValidator fragmentValidator() {
         return fragmentValidator;
     }
 
+    /**
+     * Set how the {@link Link}s of this {@link LinkGroup} are fetched. {@link ProbeStrategy#HEAD} is handy for
+     * groups containing links to big binaries, such as release archives, whose bodies are not needed for checking
+     * their existence.
+     *
+     * @param probeStrategy the {@link ProbeStrategy} to use; the default is {@link ProbeStrategy#GET}
+     * @return a new {@link LinkGroup}
+     *
+     * @since 3.33.3
+     */
+    public LinkGroup probeStrategy(ProbeStrategy probeStrategy) {
+        return new LinkGroup(
+                parent,
+                pattern,
+                linkMapper,
+                headers,
+                rateLimit,
+                streamTransformers,
+                continuationPolicies,
+                finalPolicies,
+                stats,
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
+    }
+
+    /**
+     * @return the {@link ProbeStrategy} of this {@link LinkGroup}
+     *
+     * @since 3.33.3
+     */
+    public ProbeStrategy probeStrategy() {
+        return probeStrategy;
+    }
+
+    /**
+     * Set the max. number of bytes read from a response body. Unless the {@link FragmentValidator} of this
+     * {@link LinkGroup} {@link FragmentValidator#needsBody() needs the whole body}, the body is scanned while it is
+     * being read and the reading stops as soon as all requested fragments were found. So the limit only matters for
+     * fragments that do not occur within the given number of bytes: those are reported as invalid, without
+     * downloading the rest of the body.
+     *
+     * @param maxBodySize the max. number of bytes to read from a response body; the default is 10 MiB
+     * @return a new {@link LinkGroup}
+     *
+     * @since 3.33.3
+     */
+    public LinkGroup maxBodySize(long maxBodySize) {
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("maxBodySize must not be negative");
+        }
+        return new LinkGroup(
+                parent,
+                pattern,
+                linkMapper,
+                headers,
+                rateLimit,
+                streamTransformers,
+                continuationPolicies,
+                finalPolicies,
+                stats,
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
+    }
+
+    /**
+     * @return the max. number of bytes read from a response body
+     *
+     * @since 3.33.3
+     */
+    public long maxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Set how long the responses stored in a persistent cache are used without asking the server again. Stale
+     * responses are revalidated using {@code If-None-Match} and {@code If-Modified-Since}, so that unchanged resources
+     * are not transferred again. This setting has an effect only if the {@link LinkStream} has
+     * {@link LinkStream#persistentCache(java.nio.file.Path) a persistent cache}.
+     * <p>
+     * In {@link LinkStream#incremental(java.nio.file.Path) incremental} validation, this is also how long a valid
+     * {@link Link} occurring only on unchanged pages is not validated again.
+     *
+     * @param cacheTtl how long the responses of this {@link LinkGroup} stay fresh in a persistent cache; the default is
+     *        1 day; {@link Duration#ZERO} means that the responses are always revalidated
+     * @return a new {@link LinkGroup}
+     *
+     * @since 3.33.3
+     */
+    public LinkGroup cacheTtl(Duration cacheTtl) {
+        if (cacheTtl.isNegative()) {
+            throw new IllegalArgumentException("cacheTtl must not be negative");
+        }
+        return new LinkGroup(
+                parent,
+                pattern,
+                linkMapper,
+                headers,
+                rateLimit,
+                streamTransformers,
+                continuationPolicies,
+                finalPolicies,
+                stats,
+                fragmentValidator,
+                probeStrategy,
+                maxBodySize,
+                cacheTtl);
+    }
+
+    /**
+     * @return how long the responses of this {@link LinkGroup} stay fresh in a persistent cache
+     *
+     * @since 3.33.3
+     */
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+
     /**
      * @return the {@link LinkGroupStats} associated with this {@link LinkGroup}
      */
@@ -326,7 +486,8 @@ public class LinkGroup {
         final List<LinkGroup> newGroups = new ArrayList<>(parent.groups);
         newGroups.add(parent.groups.size() - 1, this);
         return new LinkStream(parent.links, parent.resourceResolver, parent.retryAttempts, newGroups,
-                parent.overallTimeout);
+                parent.overallTimeout, parent.executor, parent.maxLinksPerHost, parent.resolveLocalLinks,
+                parent.manifestFile, parent.persistentCacheFile);
     }
 
     ValidationResult applyFinalPolicies() {
@@ -1,19 +1,29 @@
 package io.quarkiverse.antorassured;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.antorassured.LinkValidator.AbstractLinkValidator;
 import io.quarkiverse.antorassured.LinkValidator.LinkValidatorImpl;
 
 /**
@@ -23,24 +33,45 @@ import io.quarkiverse.antorassured.LinkValidator.LinkValidatorImpl;
  */
 public class LinkStream {
     private static final Logger log = Logger.getLogger(AntorAssured.class);
+    /** The same as the limit of connections per host of common web browsers */
+    static final int DEFAULT_MAX_LINKS_PER_HOST = 6;
     final Stream<Link> links;
     final ResourceResolver resourceResolver;
     final int retryAttempts;
     long overallTimeout;
     final List<LinkGroup> groups;
+    /** {@code null} if the links should be validated by the threads of {@link #links} */
+    final Executor executor;
+    final int maxLinksPerHost;
+    /** {@code true} if the links to the site under test should be validated against the generated files */
+    final boolean resolveLocalLinks;
+    /** {@code null} unless the validation should be {@link #incremental(Path)} */
+    final Path manifestFile;
+    /** {@code null} unless the responses should be cached in a {@link #persistentCache(Path)} */
+    final Path persistentCacheFile;
 
     LinkStream(
             Stream<Link> links,
             ResourceResolver resourceResolver,
             int retryAttempts,
             List<LinkGroup> groups,
-            long overallTimeout) {
+            long overallTimeout,
+            Executor executor,
+            int maxLinksPerHost,
+            boolean resolveLocalLinks,
+            Path manifestFile,
+            Path persistentCacheFile) {
         super();
         this.links = links;
         this.resourceResolver = resourceResolver;
         this.retryAttempts = retryAttempts;
         this.groups = groups;
         this.overallTimeout = overallTimeout;
+        this.executor = executor;
+        this.maxLinksPerHost = maxLinksPerHost;
+        this.resolveLocalLinks = resolveLocalLinks;
+        this.manifestFile = manifestFile;
+        this.persistentCacheFile = persistentCacheFile;
     }
 
     LinkStream(
@@ -50,7 +81,12 @@ public class LinkStream {
             long overallTimeout) {
         this(links, resourceResolver, retryAttempts,
                 Collections.singletonList(createDefaultGroup()),
-                overallTimeout);
+                overallTimeout,
+                null,
+                DEFAULT_MAX_LINKS_PER_HOST,
+                false,
+                null,
+                null);
     }
 
     static LinkGroup createDefaultGroup() {
@@ -64,7 +100,10 @@ public class LinkStream {
                 Collections.emptyList(),
                 Collections.emptyList(),
                 new LinkGroupStats(),
-                FragmentValidator.defaultFragmentValidator());
+                FragmentValidator.defaultFragmentValidator(),
+                ProbeStrategy.GET,
+                LinkGroup.DEFAULT_MAX_BODY_SIZE,
+                LinkGroup.DEFAULT_CACHE_TTL);
     }
 
     /**
@@ -87,7 +126,12 @@ public class LinkStream {
                 resourceResolver,
                 retryAttempts,
                 groups,
-                overallTimeout);
+                overallTimeout,
+                executor,
+                maxLinksPerHost,
+                resolveLocalLinks,
+                manifestFile,
+                persistentCacheFile);
     }
 
     /**
@@ -113,7 +157,12 @@ public class LinkStream {
                 resourceResolver,
                 retryAttempts,
                 groups,
-                overallTimeout);
+                overallTimeout,
+                executor,
+                maxLinksPerHost,
+                resolveLocalLinks,
+                manifestFile,
+                persistentCacheFile);
     }
 
     /**
@@ -130,7 +179,12 @@ public class LinkStream {
                 resourceResolver,
                 retryAttempts,
                 groups,
-                overallTimeout);
+                overallTimeout,
+                executor,
+                maxLinksPerHost,
+                resolveLocalLinks,
+                manifestFile,
+                persistentCacheFile);
     }
 
     /**
@@ -161,7 +215,12 @@ public class LinkStream {
                 resourceResolver,
                 retryAttempts,
                 groups,
-                overallTimeout);
+                overallTimeout,
+                executor,
+                maxLinksPerHost,
+                resolveLocalLinks,
+                manifestFile,
+                persistentCacheFile);
     }
 
     /**
@@ -177,7 +236,12 @@ public class LinkStream {
                 resourceResolver,
                 retryAttempts,
                 groups,
-                overallTimeout);
+                overallTimeout,
+                executor,
+                maxLinksPerHost,
+                resolveLocalLinks,
+                manifestFile,
+                persistentCacheFile);
     }
 
     /**
@@ -191,7 +255,8 @@ public class LinkStream {
      * @since 1.3.0
      */
     public LinkStream retryAttempts(int retryAttempts) {
-        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout);
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, resolveLocalLinks, manifestFile, persistentCacheFile);
     }
 
     /**
@@ -202,7 +267,111 @@ public class LinkStream {
      * @since 1.3.0
      */
     public LinkStream overallTimeout(long overallTimeout) {
-        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout);
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, resolveLocalLinks, manifestFile, persistentCacheFile);
+    }
+
+    /**
+     * Validate the {@link Link}s on the given {@link Executor} rather than on the threads of the underlying
+     * {@link Stream}, which are typically the threads of {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     * At most {@link #maxLinksPerHost(int)} {@link Link}s targeting the same host are validated at the same time.
+     *
+     * @param executor the {@link Executor} to run the validations on
+     * @return a new {@link LinkStream} with {@link #executor} reset to the given value
+     *
+     * @see #virtualThreads()
+     * @since 3.33.3
+     */
+    public LinkStream executor(Executor executor) {
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, resolveLocalLinks, manifestFile, persistentCacheFile);
+    }
+
+    /**
+     * Validate each {@link Link} on a new virtual thread, so that the number of {@link Link}s validated at the same time
+     * is limited only by {@link #maxLinksPerHost(int)} and by the {@link RateLimit}s of the {@link LinkGroup}s.
+     * If the current JVM does not support virtual threads, a cached pool of platform threads is used instead.
+     *
+     * @return a new {@link LinkStream} validating {@link Link}s on virtual threads
+     *
+     * @see #executor(Executor)
+     * @since 3.33.3
+     */
+    public LinkStream virtualThreads() {
+        return executor(VirtualThreads.EXECUTOR);
+    }
+
+    /**
+     * @param maxLinksPerHost the max. number of {@link Link}s targeting the same host validated at the same time if
+     *        an {@link #executor(Executor)} is set; the default is 6
+     * @return a new {@link LinkStream} with {@link #maxLinksPerHost} reset to the given value
+     *
+     * @since 3.33.3
+     */
+    public LinkStream maxLinksPerHost(int maxLinksPerHost) {
+        if (maxLinksPerHost < 1) {
+            throw new IllegalArgumentException("maxLinksPerHost must be greater than 0");
+        }
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, resolveLocalLinks, manifestFile, persistentCacheFile);
+    }
+
+    /**
+     * Validate the {@link Link}s to the site under test, i.e. those under {@link ResourceResolver#getBaseUri()},
+     * against the files generated by Antora, rather than fetching them from the test server. Only the existence of the
+     * files and the fragments are checked, so the validation of internal links does not depend on request latency.
+     * The remaining {@link Link}s are passed to the {@link LinkValidator} given to {@link #validate(LinkValidator)}.
+     *
+     * @return a new {@link LinkStream} validating the local {@link Link}s against the files on disk
+     *
+     * @see ResourceResolver#resolveLocal(java.nio.file.Path)
+     * @since 3.33.3
+     */
+    public LinkStream resolveLocalLinks() {
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, true, manifestFile, persistentCacheFile);
+    }
+
+    /**
+     * Validate only the {@link Link}s that are new, that occur on pages changed since the previous run or whose
+     * previous validation is older than {@link LinkGroup#cacheTtl()}. The content hashes of the pages and the
+     * {@link Link}s found valid are recorded in the given manifest file at the end of each run. The pages whose
+     * {@link Link}s were all skipped are logged. The {@link Link#isLocalhost() links to the site under test} are always
+     * validated, because their validity depends on the target page rather than on the page they occur on; consider
+     * {@link #resolveLocalLinks()} to make that cheap.
+     * <p>
+     * A page is recorded only if all its {@link Link}s were valid, so the pages with broken {@link Link}s are fully
+     * revalidated on the next run.
+     *
+     * @param manifestFile the file where to store the state between the runs, typically in a directory kept between
+     *        CI runs
+     * @return a new {@link LinkStream} validating the {@link Link}s incrementally
+     *
+     * @since 3.33.3
+     */
+    public LinkStream incremental(Path manifestFile) {
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, resolveLocalLinks, manifestFile, persistentCacheFile);
+    }
+
+    /**
+     * Store the valid responses in the given file and reuse them in subsequent test runs. The responses younger than
+     * {@link LinkGroup#cacheTtl()} are used without accessing the network at all, the older ones are revalidated using
+     * {@code If-None-Match} and {@code If-Modified-Since}. Only the status and the {@link AnchorIndex} of a response
+     * are stored, so the cache is not used for {@link LinkGroup}s whose {@link FragmentValidator#needsBody()}. The
+     * links found invalid are not cached, so they are checked on every run.
+     * <p>
+     * The cache is used by the {@link LinkValidator}s available via the factory methods of {@link LinkValidator};
+     * other {@link LinkValidator}s are used without it.
+     *
+     * @param file the file where to store the responses, typically in a directory kept between CI runs
+     * @return a new {@link LinkStream} caching the responses in the given file
+     *
+     * @since 3.33.3
+     */
+    public LinkStream persistentCache(Path file) {
+        return new LinkStream(links, resourceResolver, retryAttempts, groups, overallTimeout, executor,
+                maxLinksPerHost, resolveLocalLinks, manifestFile, file);
     }
 
     /**
@@ -244,7 +413,10 @@ public class LinkStream {
                 Collections.emptyList(),
                 Collections.emptyList(),
                 new LinkGroupStats(),
-                FragmentValidator.defaultFragmentValidator());
+                FragmentValidator.defaultFragmentValidator(),
+                ProbeStrategy.GET,
+                LinkGroup.DEFAULT_MAX_BODY_SIZE,
+                LinkGroup.DEFAULT_CACHE_TTL);
     }
 
     /**
@@ -270,16 +442,35 @@ public class LinkStream {
     }
 
     /**
-     * @param validator the {@link LinkValidator} to use for validating {@link Link}s
+     * @param linkValidator the {@link LinkValidator} to use for validating {@link Link}s; see also
+     *        {@link #resolveLocalLinks()}
      * @return a new {@link ValidationErrorStream}
      *
      * @since 1.0.0
      */
-    public ValidationErrorStream validate(LinkValidator validator) {
+    public ValidationErrorStream validate(LinkValidator linkValidator) {
+        if (persistentCacheFile != null) {
+            if (linkValidator instanceof AbstractLinkValidator) {
+                ((AbstractLinkValidator) linkValidator).persistentCache(persistentCacheFile, Clock.systemUTC());
+            } else {
+                log.warnf("%s does not support a persistent cache; validating without %s",
+                        linkValidator.getClass().getName(), persistentCacheFile);
+            }
+        }
+        final LinkValidator validator = resolveLocalLinks
+                ? new LocalLinkValidator(resourceResolver, linkValidator)
+                : linkValidator;
         final long deadline = System.currentTimeMillis() + overallTimeout;
         final List<ValidationResult> invalidWithouRetry = new ArrayList<>();
         final List<ValidationResult> invalidWithRetry = new ArrayList<>();
-        Stream<Link> newLinks = links;
+        final ValidationManifest manifest = manifestFile != null
+                ? ValidationManifest.open(manifestFile, Clock.systemUTC())
+                : null;
+        final Function<Link, ValidationRequest> createRequest = link -> createRequest(link, deadline);
+        final Function<Link, Duration> cacheTtl = link -> createRequest.apply(link).group().cacheTtl();
+        Stream<Link> newLinks = manifest != null
+                ? links.filter(link -> manifest.shouldValidate(link, cacheTtl.apply(link)))
+                : links;
 
         for (LinkGroup group : groups) {
             for (Function<Stream<Link>, Stream<Link>> t : group.streamTransformers) {
@@ -287,18 +478,40 @@ public class LinkStream {
             }
         }
 
-        newLinks
-                .map(this::createRequest)
-                .filter(ValidationRequest::shouldContinue)
-                .map(req -> {
-                    if (deadline <= System.currentTimeMillis()) {
-                        return ValidationResult.invalid(req.link(), 0,
-                                "Did not try, overall timeout of " + overallTimeout + " ms expired",
-                                -1);
-                    } else {
-                        return validator.validate(req);
-                    }
-                })
+        /*
+         * Blocking validators are done with each link before the next one is dispatched;
+         * non-blocking ones may have many links in flight, so we wait for all of them afterwards
+         */
+        final Map<String, InFlightLimit> inFlightByHost = new ConcurrentHashMap<>();
+        final Function<ValidationRequest, CompletableFuture<ValidationResult>> submit = req -> {
+            if (deadline <= System.currentTimeMillis()) {
+                return CompletableFuture.completedFuture(req.timedOut());
+            } else if (executor != null) {
+                return dispatch(validator, req, inFlightByHost, executor);
+            } else {
+                return validator.validateAsync(req);
+            }
+        };
+        /*
+         * The pages are scanned by the threads of the (possibly parallel) link stream also when there is an executor;
+         * dispatching only queues the link, so it does not hold those threads back
+         */
+        final List<CompletableFuture<ValidationResult>> firstPass = new ArrayList<>(
+                newLinks
+                        .map(createRequest)
+                        .filter(ValidationRequest::shouldContinue)
+                        .map(submit)
+                        .collect(Collectors.toList()));
+        if (manifest != null) {
+            /* Skipped links found later on some changed page */
+            manifest.lateLinks(cacheTtl).stream()
+                    .map(createRequest)
+                    .filter(ValidationRequest::shouldContinue)
+                    .map(submit)
+                    .forEach(firstPass::add);
+        }
+        firstPass.stream()
+                .map(AbstractLinkValidator::join)
                 .filter(ValidationResult::isInvalid)
                 .forEach(result -> {
                     if (result.shouldRetry()) {
@@ -312,56 +525,28 @@ public class LinkStream {
                     }
                 });
 
-        while (!invalidWithRetry.isEmpty()) {
-            /* sort the retries by retry time */
-            Collections.sort(invalidWithRetry, Comparator.comparing(ValidationResult::retryAtSystemTimeMs));
-
-            final ValidationResult oldResult = invalidWithRetry.get(0);
-            /* Should we continue? */
-            final ValidationRequest req = createRequest(oldResult.uri());
-            if (!req.shouldContinue()) {
-                invalidWithRetry.remove(0);
-                continue;
-            }
-            /* Retry */
-            final long delay = oldResult.retryAtSystemTimeMs() - System.currentTimeMillis();
-            if (oldResult.retryAtSystemTimeMs() >= deadline) {
-                invalidWithRetry.remove(0);
-                invalidWithouRetry.add(
-                        ValidationResult.invalid(
-                                oldResult.uri(),
-                                0,
-                                "Did not try (again), overall timeout of " + overallTimeout + " ms expired",
-                                -1));
-                continue;
-            }
-
-            if (delay > 0L) {
-                try {
-                    log.infof("Sleeping %d ms to retry %s; there are still %d URIs to retry ", delay, oldResult,
-                            invalidWithRetry.size());
-                    Thread.sleep(delay);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(e);
-                }
-            }
-            final ValidationResult newResult = validator.validate(req);
-            if (newResult.isValid()) {
-                invalidWithRetry.remove(0);
-            } else if (newResult.shouldRetry()) {
-                invalidWithRetry.remove(0);
-                invalidWithRetry.add(newResult);
-            } else {
-                invalidWithRetry.remove(0);
-                invalidWithouRetry.add(newResult);
-            }
-
+        if (!invalidWithRetry.isEmpty()) {
+            /*
+             * The retries are dispatched concurrently as they become due, at most maxLinksPerHost per host at a time;
+             * unless the caller has set an executor, they run on virtual threads, so that even blocking validators
+             * do not hold the scheduling thread or the common pool
+             */
+            final Executor retryExecutor = executor != null ? executor : VirtualThreads.EXECUTOR;
+            final RetryScheduler retries = new RetryScheduler(
+                    createRequest,
+                    req -> dispatch(validator, req, inFlightByHost, retryExecutor),
+                    deadline,
+                    overallTimeout);
+            invalidWithRetry.forEach(retries::schedule);
+            /* The retried links still invalid in the end; the ones which became valid are dropped */
+            invalidWithouRetry.addAll(retries.run());
+        }
+        if (manifest != null) {
+            manifest.update(invalidWithouRetry);
         }
         return new ValidationErrorStream(
                 Stream.of(
                         invalidWithouRetry.stream(),
-                        invalidWithRetry.stream(),
                         groups.stream()
                                 .map(group -> group.applyFinalPolicies())
                                 .filter(ValidationResult::isInvalid))
@@ -369,12 +554,50 @@ public class LinkStream {
                 resourceResolver);
     }
 
-    ValidationRequest createRequest(Link link) {
+    /**
+     * Validates the given {@link ValidationRequest} on the given {@link Executor} once there are less than
+     * {@link #maxLinksPerHost} validations of the same host running.
+     */
+    CompletableFuture<ValidationResult> dispatch(LinkValidator validator, ValidationRequest req,
+            Map<String, InFlightLimit> inFlightByHost, Executor executor) {
+        final CompletableFuture<ValidationResult> result = new CompletableFuture<>();
+        final InFlightLimit hostInFlight = inFlightByHost.computeIfAbsent(host(req.link().resolvedUri()),
+                k -> new InFlightLimit(maxLinksPerHost));
+        hostInFlight.submit(() -> {
+            try {
+                executor.execute(() -> {
+                    try {
+                        result.complete(validator.validate(req));
+                    } catch (RuntimeException | Error e) {
+                        result.completeExceptionally(e);
+                    } finally {
+                        hostInFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                hostInFlight.release();
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    static String host(String uri) {
+        try {
+            return String.valueOf(URI.create(uri).getHost());
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    ValidationRequest createRequest(Link link, long deadline) {
         for (LinkGroup group : groups) {
             if (group.pattern().matcher(link.resolvedUri()).matches()) {
-                return new ValidationRequest(group.linkMapper.apply(link), retryAttempts + 1, group);
+                return new ValidationRequest(group.linkMapper.apply(link), retryAttempts + 1, group, deadline,
+                        overallTimeout);
             }
         }
-        return new ValidationRequest(link, retryAttempts + 1, groups.get(groups.size() - 1));
+        return new ValidationRequest(link, retryAttempts + 1, groups.get(groups.size() - 1), deadline,
+                overallTimeout);
     }
 }
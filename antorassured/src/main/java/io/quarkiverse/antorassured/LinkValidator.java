@@ -1,23 +1,29 @@
 package io.quarkiverse.antorassured;
 
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import org.jboss.logging.Logger;
@@ -25,6 +31,8 @@ import org.jsoup.Connection;
 import org.jsoup.Connection.Method;
 import org.jsoup.Jsoup;
 
+import io.quarkiverse.antorassured.Response.BodyState;
+
 /**
  * A validator of web links.
  *
@@ -41,6 +49,34 @@ public interface LinkValidator {
         return new LinkValidatorImpl();
     }
 
+    /**
+     * @return a new {@link LinkValidator} based on {@link java.net.http.HttpClient} with at most 64 requests in flight
+     *         overall and at most 6 requests in flight per host
+     *
+     * @see #asyncValidator(int, int)
+     * @since 3.33.3
+     */
+    public static LinkValidator asyncValidator() {
+        return asyncValidator(AsyncLinkValidator.DEFAULT_MAX_IN_FLIGHT, AsyncLinkValidator.DEFAULT_MAX_IN_FLIGHT_PER_HOST);
+    }
+
+    /**
+     * Creates a {@link LinkValidator} sending non-blocking requests via a {@link java.net.http.HttpClient} which keeps
+     * the connections alive and multiplexes the requests to HTTP/2 capable hosts over a single connection. Hence
+     * validating many links is bounded by network round trips rather than by the number of threads.
+     *
+     * @param maxInFlight the max. number of requests in flight at any given time; the requests over the limit are
+     *        queued
+     * @param maxInFlightPerHost the max. number of requests in flight to a single host at any given time; the requests
+     *        over the limit are queued
+     * @return a new {@link LinkValidator}
+     *
+     * @since 3.33.3
+     */
+    public static LinkValidator asyncValidator(int maxInFlight, int maxInFlightPerHost) {
+        return new AsyncLinkValidator(maxInFlight, maxInFlightPerHost);
+    }
+
     /**
      * Checks whether the give URI is valid, typically by accessing the given HTTP resource, and returns the
      * {@link ValidationResult}.
@@ -52,7 +88,26 @@ public interface LinkValidator {
      */
     ValidationResult validate(ValidationRequest request);
 
-    static class LinkValidatorImpl implements LinkValidator {
+    /**
+     * A non-blocking variant of {@link #validate(ValidationRequest)}. The default implementation validates
+     * synchronously and returns a completed {@link CompletableFuture}.
+     *
+     * @param request wraps the {@link Link} to check
+     * @return a {@link CompletableFuture} completed with the result of the validation
+     *
+     * @since 3.33.3
+     */
+    default CompletableFuture<ValidationResult> validateAsync(ValidationRequest request) {
+        return CompletableFuture.completedFuture(validate(request));
+    }
+
+    /**
+     * Caches the fetched documents and the validation results, so that each fragment-less URI is fetched only once
+     * also when it is validated concurrently. Subclasses only need to implement the actual fetching.
+     *
+     * @since 3.33.3
+     */
+    static abstract class AbstractLinkValidator implements LinkValidator {
         private static final Logger log = Logger.getLogger(AntorAssured.class);
         private static final DateTimeFormatter HTTP_DATE_FORMAT = DateTimeFormatter
                 .ofPattern("EEE, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH).withZone(ZoneId.of("GMT"));
@@ -61,148 +116,420 @@ public interface LinkValidator {
         static final long RETRY_AFTER_DEFAULT = 60_000L;
         static final long RETRY_AFTER_MAX = 120_000L;
 
-        private final Connection jsoupSession = Jsoup.newSession();
+        /** Fetched documents by fragment-less URI */
+        private final Map<String, CompletableFuture<CacheEntry>> documents = new ConcurrentHashMap<>();
 
-        /** JSoup documents by fragment-less URI */
-        private final Map<String, CacheEntry> documents = new ConcurrentHashMap<>();
-        /** Locks by fragment-less URI */
-        private final Map<String, Lock> documentLocks = new HashMap<>();
+        /** Validation results by URI that possibly has a fragment */
+        private final Map<String, CompletableFuture<ValidationResult>> results = new ConcurrentHashMap<>();
 
-        /** Error messages by URI that possibly have a fragment */
-        private final Map<String, ValidationResult> errorMessages = new ConcurrentHashMap<>();
-        /** Locks by URI, possibly with a fragment */
-        private final Map<String, Lock> messageLocks = new HashMap<>();
+        /** The fragments requested so far by fragment-less URI */
+        private final Map<String, Set<String>> wantedFragments = new ConcurrentHashMap<>();
 
-        public LinkValidatorImpl() {
+        /** Responses from previous runs; {@code null} if not enabled */
+        private volatile PersistentCache persistentCache;
+
+        AbstractLinkValidator() {
+        }
+
+        /**
+         * Makes this {@link LinkValidator} store the valid responses in the given file and reuse them in subsequent
+         * test runs.
+         *
+         * @param file the file where to store the responses
+         * @param clock the {@link Clock} to use for deciding about the freshness of the stored responses
+         * @return this {@link LinkValidator}
+         *
+         * @see LinkStream#persistentCache(Path)
+         */
+        LinkValidator persistentCache(Path file, Clock clock) {
+            this.persistentCache = PersistentCache.open(file, clock);
+            return this;
+        }
+
+        /**
+         * Fetches the given fragment-less URI. The returned {@link CompletableFuture} must never complete
+         * exceptionally; failures are to be reported via {@link CacheEntry#invalid(Response, String)}.
+         *
+         * @param fragmentlessUri the URI to fetch
+         * @param group the {@link LinkGroup} the URI belongs to
+         * @param attempt the ordinal of this attempt, starting with {@code 1}
+         * @param method how to fetch the URI; the body should be read through
+         *        {@link #bodyReader(String, LinkGroup, FetchMethod, int, Charset, Function)}
+         * @param cached a {@link Response} from a {@link PersistentCache} to revalidate or {@code null}; see
+         *        {@link #conditionalHeaders(Response, BiConsumer)}
+         * @return a {@link CompletableFuture} completed with a new {@link CacheEntry}
+         */
+        abstract CompletableFuture<CacheEntry> fetch(String fragmentlessUri, LinkGroup group, int attempt,
+                FetchMethod method, Response cached);
+
+        /**
+         * How a URI is fetched
+         */
+        enum FetchMethod {
+            /** {@code GET} reading the body only until all fragments requested so far are found */
+            GET,
+            /** {@code GET} reading the whole body */
+            GET_ALL,
+            HEAD,
+            /** {@code GET} with {@code Range: bytes=0-0} */
+            RANGE;
+
+            boolean isProbe() {
+                return this == HEAD || this == RANGE;
+            }
+        }
+
+        /**
+         * @param fragmentlessUri the URI being fetched
+         * @param group the {@link LinkGroup} the URI belongs to
+         * @param method how the URI is fetched
+         * @param statusCode the status code of the response
+         * @param charset the charset of the response body
+         * @param headers a function returning the value of the response header of the given name or {@code null}
+         * @return a new {@link BodyReader} consuming the body of a response
+         */
+        BodyReader bodyReader(String fragmentlessUri, LinkGroup group, FetchMethod method, int statusCode,
+                Charset charset, Function<String, String> headers) {
+            if (method.isProbe() || statusCode != 200) {
+                return BodyReader.skip(fragmentlessUri, statusCode, charset, headers);
+            }
+            if (group.fragmentValidator().needsBody()) {
+                return BodyReader.bytes(fragmentlessUri, statusCode, charset, headers, group.maxBodySize());
+            }
+            return BodyReader.anchors(fragmentlessUri, statusCode, charset, headers, group.maxBodySize(),
+                    method == FetchMethod.GET_ALL ? null : wantedFragments(fragmentlessUri));
+        }
+
+        /**
+         * Passes {@code If-None-Match} and {@code If-Modified-Since} headers for revalidating the given {@code cached}
+         * {@link Response} to the given {@code header} consumer.
+         *
+         * @param cached the {@link Response} to revalidate or {@code null}
+         * @param header the consumer of header names and values
+         */
+        static void conditionalHeaders(Response cached, BiConsumer<String, String> header) {
+            if (cached != null) {
+                if (cached.etag() != null) {
+                    header.accept("If-None-Match", cached.etag());
+                }
+                if (cached.lastModified() != null) {
+                    header.accept("If-Modified-Since", cached.lastModified());
+                }
+            }
+        }
+
+        private Set<String> wantedFragments(String fragmentlessUri) {
+            return wantedFragments.computeIfAbsent(fragmentlessUri, k -> ConcurrentHashMap.newKeySet());
         }
 
         @Override
         public ValidationResult validate(ValidationRequest req) {
+            return join(validateAsync(req));
+        }
+
+        @Override
+        public CompletableFuture<ValidationResult> validateAsync(ValidationRequest req) {
             final Link link = req.link();
             final String uri = link.resolvedUri();
 
-            log.debugf("Validating %s", uri);
-            final Lock messageLock;
-            synchronized (messageLocks) {
-                messageLock = messageLocks.computeIfAbsent(uri, k -> new ReentrantLock());
+            final CompletableFuture<ValidationResult> validating = new CompletableFuture<>();
+            final CompletableFuture<ValidationResult> result = results.compute(uri,
+                    (k, v) -> v == null || isStale(v) ? validating : v);
+            if (result != validating) {
+                return result;
             }
 
-            messageLock.lock();
-            try {
-                final ValidationResult cached = errorMessages.get(uri);
-                if (cached != null && !cached.shouldRetry()) {
-                    return cached;
+            log.debugf("Validating %s", uri);
+            final LinkGroup group = req.group();
+            final String fragmentLessUri = link.resolvedFragmentlessUri();
+            if (link.fragment() != null) {
+                /* Register before fetching, so that a fetch in progress does not stop reading before finding it */
+                wantedFragments(fragmentLessUri).add(link.fragment());
+            }
+            final CompletableFuture<CacheEntry> fetching = new CompletableFuture<>();
+            final int[] attempt = { 1 };
+            /* Probing is enough if the body is not needed for validating the fragment */
+            final boolean needsBody = link.fragment() != null || group.probeStrategy() == ProbeStrategy.GET;
+            final CompletableFuture<CacheEntry> document = documents.compute(fragmentLessUri, (k, v) -> {
+                if (v != null && !(v.isDone()
+                        && (v.join().shouldRetry() || (needsBody && v.join().lacksContent(link, group))))) {
+                    return v;
                 }
+                attempt[0] = v == null || !v.join().shouldRetry() ? 1 : (v.join().attempt + 1);
+                return fetching;
+            });
 
-                final String fragmentLessUri = link.resolvedFragmentlessUri();
-
-                final CacheEntry entry;
+            if (document == fetching) {
+                completeWith(fetching, fragmentLessUri,
+                        fetchOrReuse(link, group, attempt[0], needsBody, req.deadlineSystemTimeMs()));
+            }
 
-                final Lock fragmentLessLock;
-                synchronized (documentLocks) {
-                    fragmentLessLock = documentLocks.computeIfAbsent(fragmentLessUri, k -> new ReentrantLock());
-                }
-                fragmentLessLock.lock();
-                try {
-                    final LinkGroup group = req.group();
-                    final long delay = group.rateLimit().scheduleInMilliseconds(group.pattern().pattern());
-                    if (delay > 0L) {
-                        return logAndReturn(uri,
-                                ValidationResult.retry(link, -429, "Delayed " + delay + " ms due to a rate limit",
-                                        System.currentTimeMillis() + delay, 0, Integer.MAX_VALUE));
-                    }
-                    entry = documents.compute(fragmentLessUri, (k, v) -> {
-                        if (v == null || v.shouldRetry()) {
-                            return fetch(jsoupSession, k, group.headers(), v == null ? 1 : (v.attempt + 1));
+            document
+                    .thenCompose(entry -> needsBody && entry.lacksContent(link, group)
+                            /*
+                             * We joined a probe started for a link without fragment or a fetch that stopped reading
+                             * before our fragment was requested
+                             */
+                            ? fetchBody(fragmentLessUri, group, document, entry.response.bodyState() == BodyState.NOT_READ
+                                    ? FetchMethod.GET
+                                    : FetchMethod.GET_ALL, req.deadlineSystemTimeMs())
+                            : CompletableFuture.completedFuture(entry))
+                    .thenApply(entry -> {
+                        if (entry.notAttempted()) {
+                            /* Forget it, so that a later validation of the same URI does not get it from the caches */
+                            documents.computeIfPresent(fragmentLessUri,
+                                    (k, v) -> v.isDone() && v.join().notAttempted() ? null : v);
+                            results.remove(uri, validating);
+                            return req.timedOut();
+                        }
+                        group.stats().recordStatus(entry.response.statusCode());
+                        if (!entry.isValid()) {
+                            return ValidationResult.retry(link, entry.response.statusCode(), entry.message,
+                                    entry.retryAtSystemTimeMs, entry.attempt, req.maxAttempts());
+                        }
+                        final ValidationResult validated = group.fragmentValidator().validate(link, entry.response);
+                        if (!validated.isValid() && link.fragment() != null
+                                && entry.response.bodyState() == BodyState.TOO_BIG) {
+                            return ValidationResult.invalid(link, entry.response.statusCode(),
+                                    "Cannot find " + link.fragment() + " in the first " + group.maxBodySize()
+                                            + " bytes of the body; consider raising LinkGroup.maxBodySize()",
+                                    -1);
+                        }
+                        return validated;
+                    })
+                    .whenComplete((r, e) -> {
+                        if (e != null) {
+                            validating.completeExceptionally(e);
                         } else {
-                            return v;
+                            validating.complete(logAndReturn(r));
                         }
                     });
-                } finally {
-                    fragmentLessLock.unlock();
-                }
+            return validating;
+        }
 
-                req.group().stats().recordStatus(entry.response.statusCode());
+        /**
+         * Replaces the given probed or partially read document with a fetched one unless some other thread did that
+         * already. Reading the whole body on the second fetch makes sure that a URI is not fetched again and again for
+         * each fragment requested after the previous fetch.
+         */
+        CompletableFuture<CacheEntry> fetchBody(String fragmentLessUri, LinkGroup group,
+                CompletableFuture<CacheEntry> probed, FetchMethod method, long deadline) {
+            final CompletableFuture<CacheEntry> fetching = new CompletableFuture<>();
+            final CompletableFuture<CacheEntry> document = documents.compute(fragmentLessUri,
+                    (k, v) -> v == null || v == probed ? fetching : v);
+            if (document == fetching) {
+                completeWith(fetching, fragmentLessUri,
+                        withPermit(fragmentLessUri, group, deadline, () -> fetch(fragmentLessUri, group, 1, method, null)
+                                .thenApply(entry -> store(group, null, entry))));
+            }
+            return document;
+        }
 
-                if (!entry.isValid()) {
-                    return logAndReturn(uri,
-                            ValidationResult.retry(link, entry.response.statusCode(), entry.message, entry.retryAtSystemTimeMs,
-                                    entry.attempt, req.maxAttempts()));
+        /**
+         * Takes the document from the {@link PersistentCache} if it is fresh and good enough for validating the given
+         * {@link Link}; otherwise fetches it, conditionally if a stale one is available.
+         */
+        CompletableFuture<CacheEntry> fetchOrReuse(Link link, LinkGroup group, int attempt, boolean needsBody,
+                long deadline) {
+            final String fragmentLessUri = link.resolvedFragmentlessUri();
+            final PersistentCache cache = persistentCache;
+            Response stale = null;
+            if (cache != null && !group.fragmentValidator().needsBody()) {
+                final PersistentCache.Entry cached = cache.get(fragmentLessUri);
+                if (cached != null) {
+                    final CacheEntry entry = CacheEntry.valid(cached.response());
+                    if (!(needsBody && entry.lacksContent(link, group))) {
+                        if (cache.isFresh(cached, group.cacheTtl())) {
+                            log.debugf("Fresh in the persistent cache: %s", fragmentLessUri);
+                            return CompletableFuture.completedFuture(entry);
+                        }
+                        stale = cached.response();
+                    }
                 }
+            }
+            final Response revalidated = stale;
+            return withPermit(fragmentLessUri, group, deadline, () -> (needsBody
+                    ? fetch(fragmentLessUri, group, attempt, FetchMethod.GET, revalidated)
+                    : probe(fragmentLessUri, group, attempt, revalidated))
+                    .thenApply(entry -> store(group, revalidated, entry)));
+        }
 
-                return logAndReturn(uri, req.group().fragmentValidator().validate(link, entry.response));
+        /**
+         * Calls the given {@code fetch} once the {@link RateLimit} of the given {@link LinkGroup} allows accessing the
+         * given URI.
+         *
+         * @param fragmentlessUri the URI to access
+         * @param group the {@link LinkGroup} of the URI
+         * @param deadline the system time in milliseconds after which no request should be sent
+         * @param fetch starts fetching the URI
+         * @return the result of {@code fetch} or a {@link CacheEntry} that is {@link CacheEntry#notAttempted()} if the
+         *         {@link RateLimit} would not allow accessing the URI before the {@code deadline}
+         */
+        CompletableFuture<CacheEntry> withPermit(String fragmentlessUri, LinkGroup group, long deadline,
+                Supplier<CompletableFuture<CacheEntry>> fetch) {
+            return acquirePermit(fragmentlessUri, group, deadline)
+                    .thenCompose(acquired -> acquired
+                            ? fetch.get()
+                            : CompletableFuture.completedFuture(CacheEntry.notAttempted(fragmentlessUri)));
+        }
 
-            } finally {
-                messageLock.unlock();
+        /**
+         * Waits until the {@link RateLimit} of the given {@link LinkGroup} allows accessing the given URI.
+         *
+         * @param fragmentlessUri the URI to access
+         * @param group the {@link LinkGroup} of the URI
+         * @param deadline the system time in milliseconds after which no request should be sent
+         * @return a {@link CompletableFuture} completed with {@code true} once the URI can be accessed or with
+         *         {@code false} right away if that would be after the {@code deadline}
+         */
+        CompletableFuture<Boolean> acquirePermit(String fragmentlessUri, LinkGroup group, long deadline) {
+            final long delay = group.rateLimit().scheduleInMilliseconds(fragmentlessUri, group);
+            if (delay <= 0L) {
+                return CompletableFuture.completedFuture(Boolean.TRUE);
+            }
+            if (delay >= deadline - System.currentTimeMillis()) {
+                log.debugf("Not waiting %d ms for the rate limit of %s past the overall timeout", delay, fragmentlessUri);
+                return CompletableFuture.completedFuture(Boolean.FALSE);
             }
+            log.debugf("Waiting %d ms for the rate limit of %s", delay, fragmentlessUri);
+            return waitFor(delay).thenCompose(v -> acquirePermit(fragmentlessUri, group, deadline));
+        }
 
+        /**
+         * Neither the calling thread nor the timer thread is blocked while waiting. The returned
+         * {@link CompletableFuture} is completed on a new virtual thread, so that also the blocking validators can
+         * fetch in the dependent stages.
+         *
+         * @param delayMillis how long to wait
+         * @return a {@link CompletableFuture} completed after the given delay
+         */
+        static CompletableFuture<Void> waitFor(long delayMillis) {
+            return CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, VirtualThreads.EXECUTOR));
         }
 
-        static CacheEntry fetch(
-                final Connection jsoupSession,
-                final String fragmentlessUri,
-                Map<String, List<String>> headers,
-                int attempt) {
-            {
-                try {
+        /**
+         * Stores the given valid {@link CacheEntry} in the {@link PersistentCache}, if any.
+         *
+         * @param group the {@link LinkGroup} of the fetched URI
+         * @param revalidated the {@link Response} the request was conditional on or {@code null}
+         * @param entry the result of the request
+         * @return the given {@code entry} or a valid {@link CacheEntry} containing {@code revalidated} if the server
+         *         responded with {@code 304 Not Modified}
+         */
+        CacheEntry store(LinkGroup group, Response revalidated, CacheEntry entry) {
+            final PersistentCache cache = persistentCache;
+            if (cache == null || group.fragmentValidator().needsBody()) {
+                return entry;
+            }
+            if (revalidated != null && entry.response.statusCode() == 304) {
+                log.debugf("Not modified: %s", revalidated.uri());
+                cache.put(revalidated);
+                return CacheEntry.valid(revalidated);
+            }
+            if (entry.isValid()) {
+                cache.put(entry.response);
+            }
+            return entry;
+        }
 
-                    final Connection req = jsoupSession
-                            .newRequest(fragmentlessUri)
-                            .ignoreContentType(true)
-                            .method(Method.GET)
-                            .ignoreHttpErrors(true);
-                    if (headers != null) {
-                        for (Entry<String, List<String>> header : headers.entrySet()) {
-                            for (String val : header.getValue()) {
-                                req.header(header.getKey(), val);
-                            }
-                        }
-                    }
-                    final org.jsoup.Connection.Response resp = req.execute();
-                    final int statusCode = resp.statusCode();
-                    log.debugf("Fetched %d: %s", statusCode, fragmentlessUri);
-                    final Response response = new Response(
-                            fragmentlessUri,
-                            statusCode,
-                            charset(resp.charset()),
-                            resp.contentType(),
-                            resp.bodyAsBytes());
-                    switch (statusCode) {
-                        case 200:
-                            return CacheEntry.valid(response);
-                        case 301:
-                        case 429:
-                        case 500:
-                        case 501:
-                        case 502:
-                        case 503:
-                        case 504:
-                            final String rawRetryAfter = resp.header("Retry-After");
-                            final long retryAtSystemTimeMs = parseRetryAfter(rawRetryAfter, Clock.systemUTC());
-                            return CacheEntry.retry(
-                                    response,
-                                    statusCode + ", Retry-After: " + rawRetryAfter,
-                                    retryAtSystemTimeMs, attempt);
-                        default:
-                            return CacheEntry.invalid(response, "" + statusCode, attempt);
-                    }
-                } catch (java.net.ConnectException e) {
-                    return CacheEntry.invalid(Response.none(fragmentlessUri),
-                            e.getMessage() != null ? "Unable to connect: " + e.getMessage() : "Unable to connect");
-                } catch (java.net.UnknownHostException e) {
-                    return CacheEntry.invalid(Response.none(fragmentlessUri), "Unknown host " + e.getMessage());
-                } catch (org.jsoup.HttpStatusException e) {
-                    return CacheEntry.invalid(new Response(fragmentlessUri, e.getStatusCode(), null, null, null),
-                            "" + e.getStatusCode());
-                } catch (Exception e) {
-                    StringWriter sw = new StringWriter();
-                    PrintWriter pw = new PrintWriter(sw);
-                    e.printStackTrace(pw);
-                    return CacheEntry.invalid(Response.none(fragmentlessUri), sw.toString());
+        static void completeWith(CompletableFuture<CacheEntry> target, String fragmentLessUri,
+                CompletableFuture<CacheEntry> source) {
+            source.whenComplete((entry, e) -> {
+                if (e != null) {
+                    target.complete(CacheEntry.invalid(Response.none(fragmentLessUri), stackTrace(e)));
+                } else {
+                    target.complete(entry);
                 }
+            });
+        }
+
+        /**
+         * Sends {@code HEAD} and falls back to {@code GET} with {@code Range: bytes=0-0} if the server rejects
+         * {@code HEAD}.
+         */
+        CompletableFuture<CacheEntry> probe(String fragmentlessUri, LinkGroup group, int attempt, Response cached) {
+            return fetch(fragmentlessUri, group, attempt, FetchMethod.HEAD, cached)
+                    .thenCompose(entry -> rejectsHead(entry.response.statusCode())
+                            ? fetch(fragmentlessUri, group, attempt, FetchMethod.RANGE, cached)
+                            : CompletableFuture.completedFuture(entry));
+        }
+
+        /**
+         * Some servers do not implement {@code HEAD} or deny it, typically responding with {@code 405}, {@code 501},
+         * {@code 403}, or even {@code 404}.
+         *
+         * @param statusCode the status code of a {@code HEAD} request
+         * @return {@code true} if the request should be retried with {@code GET}
+         */
+        static boolean rejectsHead(int statusCode) {
+            return (400 <= statusCode && statusCode < 500 && statusCode != 401 && statusCode != 429)
+                    || statusCode == 501;
+        }
+
+        static boolean isStale(CompletableFuture<ValidationResult> result) {
+            return result.isDone() && (result.isCompletedExceptionally() || result.join().shouldRetry());
+        }
+
+        /**
+         * Waits for the given {@link CompletableFuture} and rethrows the original cause if it completed exceptionally.
+         *
+         * @param <T> the result type
+         * @param future the {@link CompletableFuture} to wait for
+         * @return the result of the given {@code future}
+         */
+        static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        static CacheEntry toCacheEntry(Response response, String rawRetryAfter, int attempt, FetchMethod method) {
+            final int statusCode = response.statusCode();
+            log.debugf("Fetched %d: %s", statusCode, response.uri());
+            if (method == FetchMethod.RANGE && (statusCode == 206 || statusCode == 416)) {
+                /*
+                 * The resource exists: 206 is the normal answer to a range request and 416 means that the resource is
+                 * empty. We report 200, so that the status counts of probed and fetched links are comparable
+                 */
+                return CacheEntry.valid(new Response(response.uri(), 200, response.charset(), response.contentType(), null,
+                        null, BodyState.NOT_READ, response.etag(), response.lastModified()));
+            }
+            switch (statusCode) {
+                case 200:
+                    return CacheEntry.valid(response);
+                case 301:
+                case 429:
+                case 500:
+                case 501:
+                case 502:
+                case 503:
+                case 504:
+                    final long retryAtSystemTimeMs = parseRetryAfter(rawRetryAfter, Clock.systemUTC());
+                    return CacheEntry.retry(
+                            response,
+                            statusCode + ", Retry-After: " + rawRetryAfter,
+                            retryAtSystemTimeMs, attempt);
+                default:
+                    return CacheEntry.invalid(response, "" + statusCode, attempt);
             }
         }
 
+        static String stackTrace(Throwable e) {
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw);
+            e.printStackTrace(pw);
+            return sw.toString();
+        }
+
         static Charset charset(String charset) {
             if (charset == null) {
                 return StandardCharsets.UTF_8;
@@ -233,8 +560,7 @@ public interface LinkValidator {
             return clock.millis() + RETRY_AFTER_DEFAULT;
         }
 
-        private ValidationResult logAndReturn(String uri, ValidationResult result) {
-            errorMessages.put(uri, result);
+        private static ValidationResult logAndReturn(ValidationResult result) {
             if (result.isValid()) {
                 log.debugf("    %s", result);
             } else {
@@ -263,6 +589,18 @@ public interface LinkValidator {
                 return new CacheEntry(message, response, NO_RETRY, NO_RETRY);
             }
 
+            static CacheEntry notAttempted(String fragmentlessUri) {
+                return new CacheEntry("Not attempted", Response.none(fragmentlessUri), NO_RETRY, 0);
+            }
+
+            /**
+             * @return {@code true} if no request was sent, because the {@link RateLimit} would not allow it before the
+             *         deadline
+             */
+            boolean notAttempted() {
+                return attempt == 0;
+            }
+
             public boolean isValid() {
                 return 200 <= response.statusCode() && response.statusCode() < 300;
             }
@@ -270,6 +608,106 @@ public interface LinkValidator {
             public boolean shouldRetry() {
                 return retryAtSystemTimeMs != NO_RETRY;
             }
+
+            /**
+             * @param link the {@link Link} to validate
+             * @param group the {@link LinkGroup} of the given {@link Link}
+             * @return {@code true} if the resource exists, but it has to be fetched again, because only its status was
+             *         probed or because the reading stopped before the fragment of the given {@link Link} was
+             *         requested
+             */
+            boolean lacksContent(Link link, LinkGroup group) {
+                if (!isValid()) {
+                    return false;
+                }
+                switch (response.bodyState()) {
+                    case NOT_READ:
+                        return true;
+                    case PARTIAL:
+                        return link.fragment() != null && !response.anchors().containsFragment(link.fragment());
+                    case COMPLETE:
+                        return group.fragmentValidator().needsBody() && response.body() == null;
+                    default:
+                        return false;
+                }
+            }
+        }
+    }
+
+    static class LinkValidatorImpl extends AbstractLinkValidator {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final Connection jsoupSession = Jsoup.newSession();
+
+        public LinkValidatorImpl() {
+        }
+
+        @Override
+        CompletableFuture<CacheEntry> fetch(String fragmentlessUri, LinkGroup group, int attempt, FetchMethod method,
+                Response cached) {
+            /*
+             * Blocking, so the calling thread does the work; after waiting for a rate limit permit, that is the virtual
+             * thread completing waitFor() while validate() joins
+             */
+            return CompletableFuture
+                    .completedFuture(fetch(jsoupSession, fragmentlessUri, group, attempt, method, cached));
+        }
+
+        CacheEntry fetch(
+                final Connection jsoupSession,
+                final String fragmentlessUri,
+                LinkGroup group,
+                int attempt,
+                FetchMethod method,
+                Response cached) {
+            {
+                try {
+
+                    final Connection req = jsoupSession
+                            .newRequest(fragmentlessUri)
+                            .ignoreContentType(true)
+                            .method(method == FetchMethod.HEAD ? Method.HEAD : Method.GET)
+                            .ignoreHttpErrors(true)
+                            /* BodyReader enforces LinkGroup.maxBodySize() */
+                            .maxBodySize(0);
+                    final Map<String, List<String>> headers = group.headers();
+                    if (headers != null) {
+                        for (Entry<String, List<String>> header : headers.entrySet()) {
+                            for (String val : header.getValue()) {
+                                req.header(header.getKey(), val);
+                            }
+                        }
+                    }
+                    if (method == FetchMethod.RANGE) {
+                        /* In case the server ignores the range, stop reading after the first byte */
+                        req.header("Range", "bytes=0-0").maxBodySize(1);
+                    }
+                    conditionalHeaders(cached, req::header);
+                    final org.jsoup.Connection.Response resp = req.execute();
+                    final BodyReader bodyReader = bodyReader(fragmentlessUri, group, method, resp.statusCode(),
+                            charset(resp.charset()), resp::header);
+                    int len = 0;
+                    try (InputStream in = resp.bodyStream()) {
+                        final byte[] buffer = new byte[BUFFER_SIZE];
+                        while (bodyReader.wantsMore() && (len = in.read(buffer)) >= 0) {
+                            bodyReader.feed(buffer, 0, len);
+                        }
+                    }
+                    final boolean endOfInput = len < 0;
+                    return toCacheEntry(bodyReader.finish(endOfInput), resp.header("Retry-After"), attempt, method);
+                } catch (java.net.ConnectException e) {
+                    return CacheEntry.invalid(Response.none(fragmentlessUri),
+                            e.getMessage() != null ? "Unable to connect: " + e.getMessage() : "Unable to connect");
+                } catch (java.net.UnknownHostException e) {
+                    return CacheEntry.invalid(Response.none(fragmentlessUri), "Unknown host " + e.getMessage());
+                } catch (org.jsoup.HttpStatusException e) {
+                    return CacheEntry.invalid(new Response(fragmentlessUri, e.getStatusCode(), null, null, null),
+                            "" + e.getStatusCode());
+                } catch (Exception e) {
+                    return CacheEntry.invalid(Response.none(fragmentlessUri), stackTrace(e));
+                }
+            }
         }
     }
 }
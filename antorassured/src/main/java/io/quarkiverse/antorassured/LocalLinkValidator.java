@@ -0,0 +1,137 @@
+package io.quarkiverse.antorassured;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.antorassured.Response.BodyState;
+
+/**
+ * A {@link LinkValidator} validating the links to the site under test against the files generated by Antora
+ * rather than fetching them from the test server. The remaining links are passed to a delegate {@link LinkValidator}.
+ * <p>
+ * Each file is read at most once; only its {@link AnchorIndex} is kept, unless the {@link FragmentValidator} of the
+ * given {@link LinkGroup} needs the whole body.
+ *
+ * @since 3.33.3
+ */
+class LocalLinkValidator implements LinkValidator {
+    private static final Logger log = Logger.getLogger(AntorAssured.class);
+    private static final String INDEX_HTML = "index.html";
+
+    private final ResourceResolver resourceResolver;
+    private final LinkValidator delegate;
+    /** Responses by absolute file path */
+    private final Map<Path, Response> responses = new ConcurrentHashMap<>();
+
+    LocalLinkValidator(ResourceResolver resourceResolver, LinkValidator delegate) {
+        this.resourceResolver = resourceResolver;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ValidationResult validate(ValidationRequest request) {
+        final Link link = request.link();
+        final Path file = link.isLocalhost() ? toLocalPath(resourceResolver, link.resolvedFragmentlessUri()) : null;
+        if (file == null) {
+            return delegate.validate(request);
+        }
+        final LinkGroup group = request.group();
+        final ValidationResult result;
+        if (!Files.isRegularFile(file)) {
+            group.stats().recordStatus(404);
+            result = ValidationResult.invalid(link, 404, "No such file " + file, 1);
+        } else {
+            group.stats().recordStatus(200);
+            result = group.fragmentValidator().validate(link, response(link, file, group));
+        }
+        if (result.isValid()) {
+            log.debugf("    %s", result);
+        } else {
+            log.warnf("    %s", result);
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validateAsync(ValidationRequest request) {
+        final Link link = request.link();
+        if (link.isLocalhost() && toLocalPath(resourceResolver, link.resolvedFragmentlessUri()) != null) {
+            /* Local files are read by the calling thread */
+            return CompletableFuture.completedFuture(validate(request));
+        }
+        return delegate.validateAsync(request);
+    }
+
+    Response response(Link link, Path file, LinkGroup group) {
+        final String uri = link.resolvedFragmentlessUri();
+        if (group.fragmentValidator().needsBody()) {
+            return new Response(uri, 200, StandardCharsets.UTF_8, contentType(file), read(file));
+        }
+        return responses.computeIfAbsent(file, f -> {
+            final byte[] bytes = read(f);
+            final AnchorIndex anchors = AnchorIndex.of(new String(bytes, StandardCharsets.UTF_8));
+            return new Response(uri, 200, StandardCharsets.UTF_8, contentType(f), null, anchors, BodyState.COMPLETE,
+                    null, null);
+        });
+    }
+
+    /**
+     * @param resourceResolver the {@link ResourceResolver} whose {@link ResourceResolver#getBaseUri()} and
+     *        {@link ResourceResolver#resolveLocal(Path)} should be used
+     * @param fragmentlessUri the URI to map
+     * @return the file from which the given URI is served by the test server or {@code null} if the URI does not point
+     *         to the test server
+     */
+    static Path toLocalPath(ResourceResolver resourceResolver, String fragmentlessUri) {
+        final URI baseUri = resourceResolver.getBaseUri();
+        final URI uri;
+        try {
+            uri = URI.create(fragmentlessUri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!baseUri.getScheme().equalsIgnoreCase(uri.getScheme())
+                || !baseUri.getHost().equalsIgnoreCase(uri.getHost())
+                || baseUri.getPort() != uri.getPort()
+                || uri.getPath() == null) {
+            return null;
+        }
+        final String basePath = baseUri.getPath().isEmpty() ? "/" : baseUri.getPath();
+        String path = uri.getPath().isEmpty() ? "/" : uri.getPath();
+        if (path.endsWith("/")) {
+            path += INDEX_HTML;
+        }
+        final Path relativeToBranchDirectory = Path.of(basePath).relativize(Path.of(path));
+        final Path result = resourceResolver.resolveLocal(relativeToBranchDirectory).normalize();
+        if (Files.isDirectory(result)) {
+            return result.resolve(INDEX_HTML);
+        }
+        return result;
+    }
+
+    static String contentType(Path file) {
+        final String fileName = file.getFileName().toString();
+        return fileName.endsWith(".html") ? "text/html; charset=UTF-8" : null;
+    }
+
+    static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LocalLinkValidator[" + resourceResolver.getBaseUri() + ", " + delegate + "]";
+    }
+}
@@ -0,0 +1,257 @@
+package io.quarkiverse.antorassured;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.antorassured.LinkValidator.AbstractLinkValidator;
+import io.quarkiverse.antorassured.Response.BodyState;
+
+/**
+ * A cache of valid responses surviving across test runs, so that the links checked recently do not need to be fetched
+ * again. Only the status, the {@link AnchorIndex}, the {@code ETag} and {@code Last-Modified} headers and the time of
+ * fetching are stored per fragment-less URI, one line per entry. New entries are appended to the file as they come;
+ * the file is compacted when it is opened next time.
+ *
+ * @since 3.33.3
+ */
+class PersistentCache {
+    private static final Logger log = Logger.getLogger(AntorAssured.class);
+    private static final String HEADER = "# AntorAssured link cache v1";
+    private static final char SEPARATOR = '\t';
+    private static final int FIXED_FIELD_COUNT = 9;
+
+    private final Path file;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    PersistentCache(Path file, Clock clock, Map<String, Entry> entries) {
+        this.file = file;
+        this.clock = clock;
+        this.entries = entries;
+    }
+
+    /**
+     * Reads the given file if it exists and rewrites it without the superseded entries.
+     *
+     * @param file the file to read and write
+     * @param clock the {@link Clock} to use for timestamping new entries
+     * @return a new {@link PersistentCache}
+     */
+    static PersistentCache open(Path file, Clock clock) {
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = r.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    final Entry entry = parse(line);
+                    if (entry == null) {
+                        log.warnf("Ignoring malformed line %d of %s", lineNumber, file);
+                    } else {
+                        entries.put(entry.response().uri(), entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read " + file, e);
+            }
+        }
+        final PersistentCache result = new PersistentCache(file, clock, entries);
+        result.compact();
+        log.debugf("Loaded %d entries from %s", entries.size(), file);
+        return result;
+    }
+
+    /**
+     * @param fragmentlessUri the URI to look up
+     * @return the {@link Entry} stored for the given URI or {@code null}
+     */
+    Entry get(String fragmentlessUri) {
+        return entries.get(fragmentlessUri);
+    }
+
+    /**
+     * @param entry the {@link Entry} to check
+     * @param ttl how long an entry is fresh
+     * @return {@code true} if the given {@link Entry} can be used without revalidation
+     */
+    boolean isFresh(Entry entry, Duration ttl) {
+        return clock.millis() - entry.fetchedAtMs() < ttl.toMillis();
+    }
+
+    /**
+     * Stores the given {@link Response} with the current time.
+     *
+     * @param response the {@link Response} to store
+     */
+    void put(Response response) {
+        final Entry entry = new Entry(response, clock.millis());
+        entries.put(response.uri(), entry);
+        synchronized (this) {
+            try {
+                Files.writeString(file, format(entry), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warnf(e, "Could not write to %s", file);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the file with the current entries only.
+     */
+    synchronized void compact() {
+        final StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        entries.values().stream()
+                .sorted((a, b) -> a.response().uri().compareTo(b.response().uri()))
+                .forEach(entry -> sb.append(format(entry)));
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write " + file, e);
+        }
+    }
+
+    static String format(Entry entry) {
+        final Response response = entry.response();
+        final StringBuilder sb = new StringBuilder();
+        append(sb, response.uri());
+        append(sb, String.valueOf(entry.fetchedAtMs()));
+        append(sb, String.valueOf(response.statusCode()));
+        append(sb, response.bodyState().name());
+        append(sb, response.contentType());
+        append(sb, response.charset() != null ? response.charset().name() : null);
+        append(sb, response.etag());
+        append(sb, response.lastModified());
+        append(sb, String.valueOf(response.anchors().lineCount()));
+        for (String anchor : response.anchors().sortedAnchors()) {
+            append(sb, anchor);
+        }
+        sb.setCharAt(sb.length() - 1, '\n');
+        return sb.toString();
+    }
+
+    static Entry parse(String line) {
+        final List<String> fields = fields(line);
+        if (fields.size() < FIXED_FIELD_COUNT || fields.get(0) == null || fields.get(3) == null) {
+            return null;
+        }
+        try {
+            final String uri = fields.get(0);
+            final long fetchedAtMs = Long.parseLong(fields.get(1));
+            final int statusCode = Integer.parseInt(fields.get(2));
+            final BodyState bodyState = BodyState.valueOf(fields.get(3));
+            final String charsetName = fields.get(5);
+            final AnchorIndex anchors = AnchorIndex.of(
+                    fields.subList(FIXED_FIELD_COUNT, fields.size()),
+                    Integer.parseInt(fields.get(8)));
+            final Response response = new Response(
+                    uri,
+                    statusCode,
+                    charsetName != null ? AbstractLinkValidator.charset(charsetName) : null,
+                    fields.get(4),
+                    null,
+                    anchors,
+                    bodyState,
+                    fields.get(6),
+                    fields.get(7));
+            return new Entry(response, fetchedAtMs);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param line a line of tab separated values escaped by {@link #append(StringBuilder, String)}
+     * @return the unescaped values; empty values are returned as {@code null}
+     */
+    static List<String> fields(String line) {
+        final List<String> fields = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(SEPARATOR, start)) >= 0) {
+            fields.add(unescape(line.substring(start, end)));
+            start = end + 1;
+        }
+        fields.add(unescape(line.substring(start)));
+        return fields;
+    }
+
+    /**
+     * Appends the given {@code value} escaped and followed by a tab to the given {@link StringBuilder}.
+     *
+     * @param sb where to append
+     * @param value the value to append; {@code null} is appended as an empty string
+     */
+    static void append(StringBuilder sb, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                switch (c) {
+                    case '%':
+                        sb.append("%25");
+                        break;
+                    case '\t':
+                        sb.append("%09");
+                        break;
+                    case '\n':
+                        sb.append("%0A");
+                        break;
+                    case '\r':
+                        sb.append("%0D");
+                        break;
+                    default:
+                        sb.append(c);
+                        break;
+                }
+            }
+        }
+        sb.append(SEPARATOR);
+    }
+
+    private static String unescape(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        return value.replace("%0D", "\r").replace("%0A", "\n").replace("%09", "\t").replace("%25", "%");
+    }
+
+    /**
+     * A cached {@link Response}
+     *
+     * @param response the cached {@link Response}; its body is always {@code null}
+     * @param fetchedAtMs the time when the {@link Response} was fetched or successfully revalidated
+     */
+    record Entry(Response response, long fetchedAtMs) {
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentCache[" + file + ", " + entries.size() + " entries]";
+    }
+}
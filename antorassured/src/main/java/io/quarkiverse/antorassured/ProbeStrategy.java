@@ -0,0 +1,24 @@
+package io.quarkiverse.antorassured;
+
+/**
+ * Defines how the {@link Link}s of a {@link LinkGroup} are fetched. See {@link LinkGroup#probeStrategy(ProbeStrategy)}.
+ *
+ * @since 3.33.3
+ */
+public enum ProbeStrategy {
+    /**
+     * Fetch the whole resource with {@code GET} for every {@link Link}. This is the default.
+     *
+     * @since 3.33.3
+     */
+    GET,
+    /**
+     * Send {@code HEAD} requests for {@link Link}s without a fragment, because only the status code matters for
+     * them. If the server rejects {@code HEAD}, e.g. with {@code 405 Method Not Allowed}, send {@code GET} with
+     * {@code Range: bytes=0-0} instead. The whole resource is fetched only for {@link Link}s with a fragment, because
+     * the {@link FragmentValidator} needs the body.
+     *
+     * @since 3.33.3
+     */
+    HEAD
+}
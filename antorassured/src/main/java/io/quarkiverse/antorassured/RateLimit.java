@@ -3,6 +3,8 @@ package io.quarkiverse.antorassured;
 import java.time.Clock;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.jboss.logging.Logger;
 
@@ -22,12 +24,56 @@ public interface RateLimit {
         return new RequestsPerTimeRateLimit(requestCountLimit, resetIntervalMillis);
     }
 
+    /**
+     * @param requestCount how many requests can be sent during {@code intervalMillis} in the long run
+     * @param intervalMillis number of milliseconds
+     * @param burstCapacity how many requests can be sent at once after a period of inactivity
+     * @return a new token bucket {@link RateLimit} applied separately to each host
+     *
+     * @since 3.33.3
+     */
+    static RateLimit tokenBucket(int requestCount, long intervalMillis, int burstCapacity) {
+        return tokenBucket(requestCount, intervalMillis, burstCapacity, LinkStream::host);
+    }
+
+    /**
+     * @param requestCount how many requests can be sent during {@code intervalMillis} in the long run
+     * @param intervalMillis number of milliseconds
+     * @param burstCapacity how many requests can be sent at once after a period of inactivity
+     * @param keyFunction maps a fragment-less URI to the key of the bucket the URI should be counted in, e.g.
+     *        {@code uri -> "all"} for a single bucket shared by all URIs
+     * @return a new token bucket {@link RateLimit}
+     *
+     * @since 3.33.3
+     */
+    static RateLimit tokenBucket(int requestCount, long intervalMillis, int burstCapacity,
+            Function<String, String> keyFunction) {
+        return new TokenBucketRateLimit(requestCount, intervalMillis, burstCapacity, keyFunction, Clock.systemUTC());
+    }
+
     /**
      * @param uri the URL to decide about
      * @return delay in milliseconds after which the URL can be accessed
      */
     long scheduleInMilliseconds(String uri);
 
+    /**
+     * Decides whether the given URI can be accessed now. If the returned value is greater than zero, the caller
+     * should wait that many milliseconds and ask again.
+     * <p>
+     * The default implementation calls {@link #scheduleInMilliseconds(String)} with the {@link LinkGroup#pattern()},
+     * so that the limit is shared by all URIs of the {@link LinkGroup}.
+     *
+     * @param fragmentlessUri the URI to access
+     * @param group the {@link LinkGroup} to which the URI belongs
+     * @return delay in milliseconds after which the URI can be accessed; zero if the URI can be accessed now
+     *
+     * @since 3.33.3
+     */
+    default long scheduleInMilliseconds(String fragmentlessUri, LinkGroup group) {
+        return scheduleInMilliseconds(group.pattern().pattern());
+    }
+
     static class RequestsPerTimeRateLimit implements RateLimit {
         private static final Logger log = Logger.getLogger(AntorAssured.class);
 
@@ -74,6 +120,61 @@ public interface RateLimit {
         }
     }
 
+    /**
+     * A token bucket implemented as the Generic Cell Rate Algorithm: instead of the number of tokens, the theoretical
+     * arrival time of the next request is kept per key and it is updated lock-free.
+     */
+    static class TokenBucketRateLimit implements RateLimit {
+        private static final long NANOS_PER_MILLI = 1_000_000L;
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final Function<String, String> keyFunction;
+        private final Clock clock;
+        /** Theoretical arrival times in nanoseconds by key */
+        private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+        TokenBucketRateLimit(int requestCount, long intervalMillis, int burstCapacity,
+                Function<String, String> keyFunction, Clock clock) {
+            if (requestCount < 1) {
+                throw new IllegalArgumentException("requestCount must be greater than 0");
+            }
+            if (intervalMillis < 1) {
+                throw new IllegalArgumentException("intervalMillis must be greater than 0");
+            }
+            if (burstCapacity < 1) {
+                throw new IllegalArgumentException("burstCapacity must be greater than 0");
+            }
+            this.emissionIntervalNanos = intervalMillis * NANOS_PER_MILLI / requestCount;
+            this.burstToleranceNanos = (burstCapacity - 1) * emissionIntervalNanos;
+            this.keyFunction = keyFunction;
+            this.clock = clock;
+        }
+
+        @Override
+        public long scheduleInMilliseconds(String key) {
+            final AtomicLong arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                final long now = clock.millis() * NANOS_PER_MILLI;
+                final long current = arrival.get();
+                final long start = Math.max(current, now);
+                final long allowedAt = start - burstToleranceNanos;
+                if (allowedAt > now) {
+                    /* No token available; round up so that the caller does not wake up too early */
+                    return (allowedAt - now + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+                }
+                if (arrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                    return 0L;
+                }
+            }
+        }
+
+        @Override
+        public long scheduleInMilliseconds(String fragmentlessUri, LinkGroup group) {
+            return scheduleInMilliseconds(keyFunction.apply(fragmentlessUri));
+        }
+    }
+
     static RateLimit none() {
         return s -> 0L;
     }
@@ -1,6 +1,7 @@
 package io.quarkiverse.antorassured;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -16,19 +17,46 @@ public class Response {
     private final Charset charset;
     private final String contentType;
     private final byte[] body;
+    private final BodyState bodyState;
+    private final String etag;
+    private final String lastModified;
+    private volatile AnchorIndex anchors;
     private final Map<Class<?>, Object> transfromedBodies = new ConcurrentHashMap<>();
 
+    /**
+     * How much of the body was read from the network
+     */
+    enum BodyState {
+        /** Only the status and the headers were read, e.g. because of {@code HEAD} */
+        NOT_READ,
+        /** The reading stopped once all wanted fragments were found */
+        PARTIAL,
+        /** The reading stopped because the body exceeded {@link LinkGroup#maxBodySize()} */
+        TOO_BIG,
+        COMPLETE
+    }
+
     public static Response none(String baseUri) {
         return new Response(baseUri, -1, null, null, null);
     }
 
     Response(String uri, int statusCode, Charset charset, String contentType, byte[] body) {
+        this(uri, statusCode, charset, contentType, body, null, body == null ? BodyState.NOT_READ : BodyState.COMPLETE,
+                null, null);
+    }
+
+    Response(String uri, int statusCode, Charset charset, String contentType, byte[] body, AnchorIndex anchors,
+            BodyState bodyState, String etag, String lastModified) {
         super();
         this.uri = uri;
         this.statusCode = statusCode;
         this.charset = charset;
         this.contentType = contentType;
         this.body = body;
+        this.anchors = anchors;
+        this.bodyState = bodyState;
+        this.etag = etag;
+        this.lastModified = lastModified;
     }
 
     public String uri() {
@@ -47,10 +75,48 @@ public class Response {
         return contentType;
     }
 
+    /**
+     * @return the body or {@code null} if it was not read or if only the {@link #anchors()} were extracted from it,
+     *         which is the case unless {@link FragmentValidator#needsBody()} returns {@code true}
+     */
     public byte[] body() {
         return body;
     }
 
+    BodyState bodyState() {
+        return bodyState;
+    }
+
+    /**
+     * @return the value of the {@code ETag} header or {@code null}
+     */
+    String etag() {
+        return etag;
+    }
+
+    /**
+     * @return the value of the {@code Last-Modified} header or {@code null}
+     */
+    String lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the {@link AnchorIndex} of the body; note that the reading of the body may have stopped before its end
+     *         once all fragments requested so far were found
+     *
+     * @since 3.33.3
+     */
+    public AnchorIndex anchors() {
+        AnchorIndex result = anchors;
+        if (result == null) {
+            result = body == null ? AnchorIndex.empty()
+                    : AnchorIndex.of(new String(body, charset != null ? charset : StandardCharsets.UTF_8));
+            anchors = result;
+        }
+        return result;
+    }
+
     public <T> T bodyAs(Class<T> cl, Function<Response, T> transformer) {
         return (T) transfromedBodies.computeIfAbsent(cl, k -> transformer.apply(this));
     }
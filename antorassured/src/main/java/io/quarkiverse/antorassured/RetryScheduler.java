@@ -0,0 +1,141 @@
+package io.quarkiverse.antorassured;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.antorassured.LinkValidator.AbstractLinkValidator;
+
+/**
+ * Retries the {@link ValidationResult}s for which {@link ValidationResult#shouldRetry()} returns {@code true}. The
+ * retries wait in a {@link DelayQueue} until they are due and then they are dispatched without waiting for the
+ * previous ones to finish, so that a slow or rate limited host does not hold the retries of other hosts back.
+ * The retries which would happen after the overall deadline are not performed at all.
+ */
+class RetryScheduler {
+    private static final Logger log = Logger.getLogger(AntorAssured.class);
+    /** Put to the queue to wake up {@link #run()} once there is nothing left to do */
+    private static final Retry WAKE_UP = new Retry(null, 0L);
+
+    private final DelayQueue<Retry> queue = new DelayQueue<>();
+    /** The number of retries queued or in flight */
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final List<ValidationResult> invalid = Collections.synchronizedList(new ArrayList<>());
+    private final List<CompletableFuture<ValidationResult>> dispatched = Collections.synchronizedList(new ArrayList<>());
+    private final Function<Link, ValidationRequest> createRequest;
+    private final Function<ValidationRequest, CompletableFuture<ValidationResult>> dispatch;
+    private final long deadline;
+    private final long overallTimeout;
+
+    /**
+     * @param createRequest creates a new {@link ValidationRequest} for retrying the given {@link Link}
+     * @param dispatch starts validating the given {@link ValidationRequest}; it is supposed to return quickly, e.g.
+     *        by running the validation on some executor
+     * @param deadline the system time in milliseconds after which no retry can be started
+     * @param overallTimeout the overall timeout in milliseconds for reporting
+     */
+    RetryScheduler(
+            Function<Link, ValidationRequest> createRequest,
+            Function<ValidationRequest, CompletableFuture<ValidationResult>> dispatch,
+            long deadline,
+            long overallTimeout) {
+        this.createRequest = createRequest;
+        this.dispatch = dispatch;
+        this.deadline = deadline;
+        this.overallTimeout = overallTimeout;
+    }
+
+    /**
+     * Schedules a retry of the given {@link ValidationResult} at its {@link ValidationResult#retryAtSystemTimeMs()} or
+     * records it as invalid if that is too late.
+     *
+     * @param result the {@link ValidationResult} to retry
+     */
+    void schedule(ValidationResult result) {
+        if (result.retryAtSystemTimeMs() >= deadline) {
+            invalid.add(ValidationResult.invalid(
+                    result.uri(),
+                    0,
+                    "Did not try (again), overall timeout of " + overallTimeout + " ms expired",
+                    -1));
+            return;
+        }
+        outstanding.incrementAndGet();
+        log.debugf("Retrying %s in %d ms", result.uri(), result.retryAtSystemTimeMs() - System.currentTimeMillis());
+        queue.add(new Retry(result, result.retryAtSystemTimeMs()));
+    }
+
+    /**
+     * Dispatches the scheduled retries as they become due and the retries they lead to, until there is nothing left
+     * to retry.
+     *
+     * @return the invalid {@link ValidationResult}s which should not or could not be retried anymore
+     */
+    List<ValidationResult> run() {
+        while (outstanding.get() > 0) {
+            final Retry retry;
+            try {
+                retry = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            if (retry == WAKE_UP) {
+                continue;
+            }
+            /* Should we continue? */
+            final ValidationRequest req = createRequest.apply(retry.result().uri());
+            if (!req.shouldContinue()) {
+                done();
+                continue;
+            }
+            log.infof("Retrying %s; there are still %d URIs to retry", retry.result(), outstanding.get());
+            final CompletableFuture<ValidationResult> validating = dispatch.apply(req);
+            dispatched.add(validating);
+            validating.whenComplete((newResult, e) -> {
+                if (e == null && newResult.isInvalid()) {
+                    if (newResult.shouldRetry()) {
+                        schedule(newResult);
+                    } else {
+                        invalid.add(newResult);
+                    }
+                }
+                done();
+            });
+        }
+        synchronized (dispatched) {
+            /* Rethrow the failures, if any */
+            dispatched.forEach(AbstractLinkValidator::join);
+        }
+        synchronized (invalid) {
+            return new ArrayList<>(invalid);
+        }
+    }
+
+    private void done() {
+        if (outstanding.decrementAndGet() == 0) {
+            queue.add(WAKE_UP);
+        }
+    }
+
+    record Retry(ValidationResult result, long retryAtSystemTimeMs) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(retryAtSystemTimeMs - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(retryAtSystemTimeMs, ((Retry) other).retryAtSystemTimeMs);
+        }
+    }
+}
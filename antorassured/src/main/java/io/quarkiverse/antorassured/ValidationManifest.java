@@ -0,0 +1,278 @@
+package io.quarkiverse.antorassured;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Records the content hashes of the pages and the links found on them, so that the next validation run can skip the
+ * {@link Link}s which were validated recently and which occur only on pages that have not changed since then.
+ * <p>
+ * A page is recorded only if all its {@link Link}s were found valid, so that the pages with broken links are fully
+ * revalidated on the next run. A {@link Link} is recorded with the time when it was last found valid and it is
+ * validated again once that is older than {@link LinkGroup#cacheTtl()}. The {@link Link#isLocalhost() links to the
+ * site under test} are never skipped.
+ *
+ * @since 3.33.3
+ */
+class ValidationManifest {
+    private static final Logger log = Logger.getLogger(AntorAssured.class);
+    private static final String HEADER = "# AntorAssured validation manifest v1";
+    private static final String PAGE = "P";
+    private static final String LINK = "L";
+
+    private final Path file;
+    private final Clock clock;
+    /** The pages from the previous run by {@link #key(Path)} */
+    private final Map<String, PageEntry> previousPages;
+    /** The time when a link was last found valid by {@link Link#resolvedUri()} */
+    private final Map<String, Long> previousLinks;
+
+    private final Map<Path, String> hashes = new ConcurrentHashMap<>();
+    private final Set<Link> skipped = ConcurrentHashMap.newKeySet();
+    private final Set<Link> validated = ConcurrentHashMap.newKeySet();
+
+    ValidationManifest(Path file, Clock clock, Map<String, PageEntry> previousPages, Map<String, Long> previousLinks) {
+        this.file = file;
+        this.clock = clock;
+        this.previousPages = previousPages;
+        this.previousLinks = previousLinks;
+    }
+
+    /**
+     * @param file the manifest file to read if it exists; it is rewritten by {@link #update(Collection)}
+     * @param clock the {@link Clock} to use for timestamping the valid links
+     * @return a new {@link ValidationManifest}
+     */
+    static ValidationManifest open(Path file, Clock clock) {
+        final Map<String, PageEntry> pages = new HashMap<>();
+        final Map<String, Long> links = new HashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = r.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    final List<String> fields = PersistentCache.fields(line);
+                    if (fields.size() >= 3 && PAGE.equals(fields.get(0)) && fields.get(1) != null
+                            && fields.get(2) != null) {
+                        pages.put(fields.get(1), new PageEntry(fields.get(2),
+                                Set.copyOf(fields.subList(3, fields.size()).stream()
+                                        .filter(uri -> uri != null)
+                                        .collect(Collectors.toList()))));
+                    } else if (fields.size() == 3 && LINK.equals(fields.get(0)) && fields.get(1) != null) {
+                        try {
+                            links.put(fields.get(1), Long.parseLong(fields.get(2)));
+                        } catch (NumberFormatException e) {
+                            log.warnf("Ignoring malformed line %d of %s", lineNumber, file);
+                        }
+                    } else {
+                        log.warnf("Ignoring malformed line %d of %s", lineNumber, file);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read " + file, e);
+            }
+        }
+        log.debugf("Loaded %d pages and %d links from %s", pages.size(), links.size(), file);
+        return new ValidationManifest(file, clock, pages, links);
+    }
+
+    /**
+     * Decides whether the given {@link Link} needs to be validated. The {@link Link}s for which this method returns
+     * {@code false} should be passed to {@link #lateLinks(Function)} once all pages were scanned.
+     *
+     * @param link the {@link Link} to check; its {@link Link#occurrences()} may still grow
+     * @param ttl how long a valid {@link Link} does not need to be validated again
+     * @return {@code true} if the given {@link Link} is new, occurs on a changed page or its last validation expired
+     */
+    boolean shouldValidate(Link link, Duration ttl) {
+        if (isUpToDate(link, ttl)) {
+            skipped.add(link);
+            return false;
+        }
+        validated.add(link);
+        return true;
+    }
+
+    /**
+     * @param ttl the {@link LinkGroup#cacheTtl()} of the given {@link Link}
+     * @return the {@link Link}s skipped by {@link #shouldValidate(Link, Duration)} which turned out to occur on some
+     *         changed page found after the {@link Link} was skipped
+     */
+    List<Link> lateLinks(Function<Link, Duration> ttl) {
+        final List<Link> result = new ArrayList<>();
+        for (Link link : skipped) {
+            if (!isUpToDate(link, ttl.apply(link))) {
+                result.add(link);
+            }
+        }
+        skipped.removeAll(result);
+        validated.addAll(result);
+        return result;
+    }
+
+    boolean isUpToDate(Link link, Duration ttl) {
+        if (link.isLocalhost()) {
+            /*
+             * The validity of a link to the site under test depends on the target page, which may have changed or
+             * lost the fragment even if the pages containing the link did not; such links are cheap to check anyway
+             */
+            return false;
+        }
+        final Long validatedAt = previousLinks.get(link.resolvedUri());
+        if (validatedAt == null || clock.millis() - validatedAt >= ttl.toMillis()) {
+            return false;
+        }
+        for (Path page : link.occurrences()) {
+            final PageEntry previous = previousPages.get(key(page));
+            if (previous == null || !previous.hash().equals(hash(page))
+                    || !previous.links().contains(link.resolvedUri())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rewrites the manifest file and logs the pages whose {@link Link}s were all skipped.
+     *
+     * @param invalid all invalid {@link ValidationResult}s of the current run
+     * @return the pages on which no {@link Link} was validated in the current run
+     */
+    Set<Path> update(Collection<ValidationResult> invalid) {
+        final long now = clock.millis();
+        final Set<Path> failedPages = new TreeSet<>();
+        final Set<String> failedUris = new TreeSet<>();
+        for (ValidationResult result : invalid) {
+            Link link = result.uri();
+            failedPages.addAll(link.occurrences());
+            while (link.mappedFrom() != null) {
+                link = link.mappedFrom();
+            }
+            failedUris.add(link.resolvedUri());
+        }
+
+        final Map<String, Long> links = new TreeMap<>();
+        final Map<Path, Set<String>> linksByPage = new TreeMap<>();
+        final Set<Path> validatedPages = new TreeSet<>();
+        for (Link link : skipped) {
+            links.put(link.resolvedUri(), previousLinks.get(link.resolvedUri()));
+            link.occurrences().forEach(page -> linksByPage.computeIfAbsent(page, k -> new TreeSet<>())
+                    .add(link.resolvedUri()));
+        }
+        for (Link link : validated) {
+            if (!failedUris.contains(link.resolvedUri())) {
+                links.put(link.resolvedUri(), now);
+            }
+            link.occurrences().forEach(page -> linksByPage.computeIfAbsent(page, k -> new TreeSet<>())
+                    .add(link.resolvedUri()));
+            validatedPages.addAll(link.occurrences());
+        }
+
+        final StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (Map.Entry<Path, Set<String>> en : linksByPage.entrySet()) {
+            final Path page = en.getKey();
+            if (!failedPages.contains(page)) {
+                PersistentCache.append(sb, PAGE);
+                PersistentCache.append(sb, key(page));
+                PersistentCache.append(sb, hash(page));
+                en.getValue().forEach(uri -> PersistentCache.append(sb, uri));
+                sb.setCharAt(sb.length() - 1, '\n');
+            }
+        }
+        for (Map.Entry<String, Long> en : links.entrySet()) {
+            PersistentCache.append(sb, LINK);
+            PersistentCache.append(sb, en.getKey());
+            PersistentCache.append(sb, String.valueOf(en.getValue()));
+            sb.setCharAt(sb.length() - 1, '\n');
+        }
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write " + file, e);
+        }
+
+        final Set<Path> skippedPages = new TreeSet<>(linksByPage.keySet());
+        skippedPages.removeAll(validatedPages);
+        if (!skippedPages.isEmpty()) {
+            log.infof("Skipped %d links on %d unchanged pages:\n    %s", skipped.size(), skippedPages.size(),
+                    skippedPages.stream().map(ValidationManifest::key).collect(Collectors.joining("\n    ")));
+        }
+        return skippedPages;
+    }
+
+    String hash(Path page) {
+        return hashes.computeIfAbsent(page, p -> {
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(Files.readAllBytes(p)));
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read " + p, e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * @param page the page to identify
+     * @return the path of the given page relative to the current directory if possible, so that the manifest stays
+     *         valid if the project is checked out at a different location
+     */
+    static String key(Path page) {
+        if (page.getFileSystem() == FileSystems.getDefault()) {
+            try {
+                return Path.of("").toAbsolutePath().relativize(page.toAbsolutePath()).toString().replace('\\', '/');
+            } catch (IllegalArgumentException e) {
+                /* Different roots on Windows */
+            }
+        }
+        return page.toUri().toString();
+    }
+
+    /**
+     * A page recorded by a previous run
+     *
+     * @param hash the SHA-256 hash of the page content
+     * @param links the {@link Link#resolvedUri()}s of all links occurring on the page
+     */
+    record PageEntry(String hash, Set<String> links) {
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationManifest[" + file + "]";
+    }
+}
@@ -1,6 +1,26 @@
 package io.quarkiverse.antorassured;
 
-public record ValidationRequest(Link link, int maxAttempts, LinkGroup group) {
+/**
+ * @param link the {@link Link} to validate
+ * @param maxAttempts how many attempts can be performed to validate the given {@link Link}
+ * @param group the {@link LinkGroup} the {@link Link} belongs to
+ * @param deadlineSystemTimeMs the system time in milliseconds after which no request should be sent for the given
+ *        {@link Link}; {@link Long#MAX_VALUE} if there is no deadline
+ * @param overallTimeout the overall timeout in milliseconds the {@code deadlineSystemTimeMs} was computed from, for
+ *        reporting
+ */
+public record ValidationRequest(Link link, int maxAttempts, LinkGroup group, long deadlineSystemTimeMs,
+        long overallTimeout) {
+
+    /**
+     * @param link the {@link Link} to validate
+     * @param maxAttempts how many attempts can be performed to validate the given {@link Link}
+     * @param group the {@link LinkGroup} the {@link Link} belongs to
+     */
+    public ValidationRequest(Link link, int maxAttempts, LinkGroup group) {
+        this(link, maxAttempts, group, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
     /**
      * Applies the continuation policies of the given {@link LinkGroup}
      *
@@ -15,4 +35,12 @@ public record ValidationRequest(Link link, int maxAttempts, LinkGroup group) {
         }
         return true;
     }
+
+    /**
+     * @return an invalid {@link ValidationResult} reporting that the {@link Link} was not tried because the
+     *         {@link #deadlineSystemTimeMs()} passed or would pass before a request could be sent
+     */
+    ValidationResult timedOut() {
+        return ValidationResult.invalid(link, 0, "Did not try, overall timeout of " + overallTimeout + " ms expired", -1);
+    }
 }
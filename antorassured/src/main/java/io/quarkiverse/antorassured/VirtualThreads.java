@@ -0,0 +1,40 @@
+package io.quarkiverse.antorassured;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Holds a shared {@link Executor} starting a new virtual thread for each task.
+ */
+class VirtualThreads {
+    private static final Logger log = Logger.getLogger(AntorAssured.class);
+
+    /**
+     * Starts a new virtual thread per task or, if the current JVM does not support virtual threads, runs the tasks
+     * on a cached pool of daemon platform threads
+     */
+    static final Executor EXECUTOR = createExecutor();
+
+    private VirtualThreads() {
+    }
+
+    static Executor createExecutor() {
+        try {
+            /* Executors.newVirtualThreadPerTaskExecutor() is not available on Java 17 */
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            log.debugf(e, "Virtual threads not available, using a cached thread pool");
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            final Thread thread = new Thread(task, "antorassured-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
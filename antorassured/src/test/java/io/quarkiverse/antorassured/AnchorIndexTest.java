@@ -0,0 +1,82 @@
+package io.quarkiverse.antorassured;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AnchorIndexTest {
+
+    @Test
+    void html() {
+        final AnchorIndex index = AnchorIndex.of("""
+                <!DOCTYPE html>
+                <html>
+                <head>
+                  <script>var s = '<a id="inScript">';</script>
+                </head>
+                <body>
+                  <!-- <p id="inComment"> -->
+                  <p ID=unquoted>Foo</p>
+                  <a name='named' href="#unquoted">Bar</a>
+                  <span name="notAnAnchor"></span>
+                  <section class="detail" id="parse(java.lang.CharSequence)"></section>
+                  <div id="a&amp;b"></div>
+                  <div id="user-content-gh"></div>
+                </body>
+                </html>
+                """);
+
+        Assertions.assertThat(index.size()).isEqualTo(5);
+        Assertions.assertThat(index.lineCount()).isEqualTo(16);
+
+        Assertions.assertThat(index.containsFragment("#unquoted")).isTrue();
+        Assertions.assertThat(index.containsFragment("#named")).isTrue();
+        Assertions.assertThat(index.containsFragment("#parse(java.lang.CharSequence)")).isTrue();
+        Assertions.assertThat(index.containsFragment("#a&b")).isTrue();
+        Assertions.assertThat(index.containsFragment("#a%26b")).isTrue();
+        Assertions.assertThat(index.containsFragment("#gh")).isTrue();
+        Assertions.assertThat(index.containsFragment("#user-content-gh")).isTrue();
+
+        Assertions.assertThat(index.containsFragment("#inScript")).isFalse();
+        Assertions.assertThat(index.containsFragment("#inComment")).isFalse();
+        Assertions.assertThat(index.containsFragment("#notAnAnchor")).isFalse();
+    }
+
+    @Test
+    void hrefs() {
+        final List<String> hrefs = new ArrayList<>();
+        final AnchorScanner scanner = new AnchorScanner(hrefs::add);
+        scanner.scan("""
+                <html>
+                <body>
+                  <a href="page.html#_foo">Foo</a>
+                  <A class="x" HREF='https://example.com/?a=1&amp;b=2'>Bar</A>
+                  <!-- <a href="commented.html"> -->
+                  <link href="style.css" rel="stylesheet">
+                  <a href>Empty</a>
+                """);
+        scanner.scan("""
+                  <a id="split" href=../other.html>Other</a>
+                </body>
+                </html>
+                """);
+        Assertions.assertThat(hrefs).containsExactly(
+                "page.html#_foo",
+                "https://example.com/?a=1&b=2",
+                "",
+                "../other.html");
+        Assertions.assertThat(scanner.anchors()).containsExactly("split");
+    }
+
+    @Test
+    void of() {
+        final AnchorIndex index = AnchorIndex.of(List.of("foo", "bar", "foo"), 3);
+        Assertions.assertThat(index.size()).isEqualTo(2);
+        Assertions.assertThat(index.contains("foo")).isTrue();
+        Assertions.assertThat(index.contains("baz")).isFalse();
+        Assertions.assertThat(index.lineCount()).isEqualTo(3);
+    }
+
+}
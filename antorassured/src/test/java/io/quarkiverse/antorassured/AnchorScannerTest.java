@@ -0,0 +1,99 @@
+package io.quarkiverse.antorassured;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AnchorScannerTest {
+
+    @Test
+    void entities() {
+        final List<String> hrefs = new ArrayList<>();
+        final AnchorScanner scanner = new AnchorScanner(hrefs::add);
+        scanner.scan("""
+                <a id="a&amp;b"></a>
+                <a id="&lt;T&gt;"></a>
+                <a id="caf&eacute;"></a>
+                <a id="&#x3b1;&#946;"></a>
+                <a id="no&copy"></a>
+                <a id="&unknown;"></a>
+                <a href="?a=1&amp;b=2&copy=3">Link</a>
+                <a href="&quot;quoted&quot;">Link</a>
+                """);
+        Assertions.assertThat(scanner.anchors()).containsExactlyInAnyOrder(
+                "a&b",
+                "<T>",
+                "café",
+                "αβ",
+                "no©",
+                "&unknown;");
+        /* In attribute values, a legacy entity without semicolon followed by = is no entity */
+        Assertions.assertThat(hrefs).containsExactly("?a=1&b=2&copy=3", "\"quoted\"");
+
+        Assertions.assertThat(AnchorScanner.decodeEntities("plain")).isEqualTo("plain");
+        Assertions.assertThat(AnchorScanner.decodeEntities("&amp;amp;")).isEqualTo("&amp;");
+    }
+
+    @Test
+    void comments() {
+        final AnchorScanner scanner = new AnchorScanner();
+        scanner.scan("""
+                <!-- <a id="inComment"> -->
+                <!---->
+                <a id="afterEmpty"></a>
+                <!-- a -- b --->
+                <a id="afterDashes"></a>
+                <!DOCTYPE html><a id="afterDoctype"></a>
+                <!-- <a id="unterminated">
+                """);
+        Assertions.assertThat(scanner.anchors()).containsExactlyInAnyOrder("afterEmpty", "afterDashes", "afterDoctype");
+    }
+
+    @Test
+    void rawText() {
+        final List<String> hrefs = new ArrayList<>();
+        final AnchorScanner scanner = new AnchorScanner(hrefs::add);
+        scanner.scan("""
+                <script>
+                  document.write('<a id="inScript" href="inScript.html">');
+                  if (a </b) {}
+                  const s = '</scriptx><a id="afterScriptx">';
+                  const t = '<</script';
+                </SCRIPT >
+                <a id="afterScript" href="afterScript.html"></a>
+                <style>a[id="inStyle"] { color: red; }</style/>
+                <a id="afterStyle"></a>
+                <scripts><a id="notRawText"></a></scripts>
+                <script src="x.js"></script><a id="afterEmptyScript"></a>
+                """);
+        Assertions.assertThat(scanner.anchors())
+                .containsExactlyInAnyOrder("afterScript", "afterStyle", "notRawText", "afterEmptyScript");
+        Assertions.assertThat(hrefs).containsExactly("afterScript.html");
+    }
+
+    @Test
+    void chunks() {
+        final String html = """
+                <html>
+                <!-- <a id="inComment"> -->
+                <script>'</scriptx><a id="inScript">'</script>
+                <a id="first" href='page.html#_foo'>Foo</a>
+                <p ID=second>Bar</p>
+                </html>
+                """;
+        /* Every state must survive a chunk boundary */
+        for (int chunkSize = 1; chunkSize <= 8; chunkSize++) {
+            final List<String> hrefs = new ArrayList<>();
+            final AnchorScanner scanner = new AnchorScanner(hrefs::add);
+            for (int i = 0; i < html.length(); i += chunkSize) {
+                scanner.scan(CharBuffer.wrap(html, i, Math.min(i + chunkSize, html.length())));
+            }
+            Assertions.assertThat(scanner.anchors()).containsExactlyInAnyOrder("first", "second");
+            Assertions.assertThat(hrefs).containsExactly("page.html#_foo");
+            Assertions.assertThat(scanner.toIndex().lineCount()).isEqualTo(7);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkiverse.antorassured;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AntorAssuredTest {
+
+    @Test
+    void hrefs() throws IOException {
+        final Path page = Files.createTempDirectory(AntorAssuredTest.class.getSimpleName()).resolve("page.html");
+        /* Longer than the read buffer so that the scanner gets several chunks */
+        final String filler = "<p>" + "x".repeat(10_000) + "</p>\n";
+        Files.writeString(page, """
+                <html>
+                <body>
+                  <a href="first.html">First</a>
+                """ + filler + """
+                  <script>document.write('<a href="inScript.html">');</script>
+                  <!-- <a href="inComment.html"> -->
+                  <a href="second.html?a=1&amp;b=2">Second</a>
+                """ + filler + """
+                  <a href="https://example.com/">External</a>
+                </body>
+                </html>
+                """, StandardCharsets.UTF_8);
+        Assertions.assertThat(AntorAssured.hrefs(page)).containsExactly(
+                "first.html",
+                "second.html?a=1&b=2",
+                "https://example.com/");
+    }
+
+    @Test
+    void links() throws IOException {
+        final int pageCount = 50;
+        final Path root = Files.createTempDirectory(AntorAssuredTest.class.getSimpleName()).toRealPath();
+        final Path branchDir = root.resolve(AntorAssured.META_INF_ANTORA).resolve("mod/1.0");
+        Files.createDirectories(branchDir);
+        final List<Path> pages = new ArrayList<>();
+        for (int i = 0; i < pageCount; i++) {
+            final Path page = branchDir.resolve("page-" + i + ".html");
+            Files.writeString(page, """
+                    <html>
+                    <body>
+                      <a href="shared.html">Shared</a>
+                      <a href="https://example.com/">External</a>
+                      <a href="unique-%d.html">Unique</a>
+                      <a href="shared.html">Shared again</a>
+                    </body>
+                    </html>
+                    """.formatted(i), StandardCharsets.UTF_8);
+            pages.add(page);
+        }
+        final ResourceResolver resolver = new ResourceResolver.ResourceResolverImpl(
+                Path.of("/foo/bar/src"),
+                branchDir,
+                Map.of(),
+                "http://localhost:8081/mod/1.0/",
+                root);
+
+        final List<Link> links;
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldTccl = thread.getContextClassLoader();
+        try (URLClassLoader cl = new URLClassLoader(new URL[] { root.toUri().toURL() }, null)) {
+            thread.setContextClassLoader(cl);
+            links = AntorAssured.links(resolver).stream().toList();
+        } finally {
+            thread.setContextClassLoader(oldTccl);
+        }
+
+        /* Each link passed downstream exactly once, no matter how many pages it occurs on */
+        Assertions.assertThat(links).hasSize(pageCount + 2);
+        final Map<String, Link> byUri = links.stream()
+                .collect(Collectors.toMap(Link::resolvedUri, Function.identity()));
+        Assertions.assertThat(byUri).hasSize(pageCount + 2);
+
+        /* Once the stream is consumed, the occurrences contain all pages */
+        Assertions.assertThat(byUri.get("http://localhost:8081/mod/1.0/shared.html").occurrences())
+                .containsExactlyInAnyOrderElementsOf(pages);
+        Assertions.assertThat(byUri.get("https://example.com/").occurrences())
+                .containsExactlyInAnyOrderElementsOf(pages);
+        for (int i = 0; i < pageCount; i++) {
+            Assertions.assertThat(byUri.get("http://localhost:8081/mod/1.0/unique-" + i + ".html").occurrences())
+                    .containsExactly(pages.get(i));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.quarkiverse.antorassured;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InFlightLimitTest {
+
+    @Test
+    void queueOverLimit() {
+        final InFlightLimit limit = new InFlightLimit(2);
+        final List<Integer> started = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int task = i;
+            limit.submit(() -> started.add(task));
+        }
+        Assertions.assertThat(started).containsExactly(0, 1);
+        Assertions.assertThat(limit.running()).isEqualTo(2);
+        Assertions.assertThat(limit.waiting()).isEqualTo(3);
+
+        limit.release();
+        Assertions.assertThat(started).containsExactly(0, 1, 2);
+        Assertions.assertThat(limit.running()).isEqualTo(2);
+
+        limit.release();
+        limit.release();
+        Assertions.assertThat(started).containsExactly(0, 1, 2, 3, 4);
+        Assertions.assertThat(limit.waiting()).isEqualTo(0);
+
+        limit.release();
+        limit.release();
+        Assertions.assertThat(limit.running()).isEqualTo(0);
+    }
+
+    @Test
+    void releaseInline() {
+        /* Enough to overflow the stack if each release ran the next queued task recursively */
+        final int count = 200_000;
+        final InFlightLimit limit = new InFlightLimit(1);
+        final AtomicInteger done = new AtomicInteger();
+        /* Holds the only slot until all the others are queued */
+        limit.submit(() -> {
+        });
+        for (int i = 0; i < count; i++) {
+            /* Like a task whose executor rejects it */
+            limit.submit(() -> {
+                done.incrementAndGet();
+                limit.release();
+            });
+        }
+        Assertions.assertThat(limit.waiting()).isEqualTo(count);
+
+        limit.release();
+        Assertions.assertThat(done.get()).isEqualTo(count);
+        Assertions.assertThat(limit.running()).isEqualTo(0);
+        Assertions.assertThat(limit.waiting()).isEqualTo(0);
+    }
+
+    @Test
+    void concurrent() throws InterruptedException {
+        final int max = 3;
+        final int count = 2_000;
+        final InFlightLimit limit = new InFlightLimit(max);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger done = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < count; i++) {
+                executor.execute(() -> limit.submit(() -> executor.execute(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    inFlight.decrementAndGet();
+                    done.incrementAndGet();
+                    limit.release();
+                })));
+            }
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (done.get() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertThat(done.get()).isEqualTo(count);
+        Assertions.assertThat(maxInFlight.get()).isLessThanOrEqualTo(max);
+        Assertions.assertThat(limit.running()).isEqualTo(0);
+        Assertions.assertThat(limit.waiting()).isEqualTo(0);
+    }
+}
@@ -364,6 +364,120 @@ public class LinkStreamTest {
 
     }
 
+    @Test
+    void asyncValidator() {
+        RestAssured.delete("http://localhost:8084/accessLog")
+                .then()
+                .statusCode(201);
+        Assertions.assertThat(
+                links(
+                        "http://localhost:8084/constant/200/0",
+                        "http://localhost:8084/constant/404/1",
+                        "http://localhost:8084/fragment/javaDoc#parse(java.lang.CharSequence)",
+                        "http://localhost:8084/fragment/javaDoc#missing")
+                        .validate(LinkValidator.asyncValidator(4, 2))
+                        .stream()
+                        .map(ValidationResult::toString))
+                .containsExactlyInAnyOrder(
+                        "http://localhost:8084/constant/404/1: 404, attempted 1 times",
+                        "http://localhost:8084/fragment/javaDoc#missing: Could not find #missing, attempted 0 times");
+
+        List<String> accessLog = Arrays.asList(RestAssured.get("http://localhost:8084/accessLog")
+                .then()
+                .statusCode(200)
+                .extract().body().asString().split(","));
+
+        /* The fragment-less URI is fetched only once */
+        Assertions.assertThat(accessLog)
+                .containsExactlyInAnyOrder(
+                        "/constant/200/0 200",
+                        "/constant/404/1 404",
+                        "/fragment/javaDoc 200");
+    }
+
+    @Test
+    void virtualThreads() {
+        final long start = System.currentTimeMillis();
+        Assertions.assertThat(
+                links(
+                        "http://localhost:8084/sleep/300/one",
+                        "http://localhost:8084/sleep/300/two",
+                        "http://localhost:8084/sleep/300/three",
+                        "http://localhost:8084/sleep/300/four",
+                        "http://localhost:8084/constant/404/default")
+                        .virtualThreads()
+                        .maxLinksPerHost(2)
+                        .validate()
+                        .stream()
+                        .map(ValidationResult::toString))
+                .containsExactly(
+                        "http://localhost:8084/constant/404/default: 404, attempted 1 times");
+        long duration = System.currentTimeMillis() - start;
+        /* Four sleeping links, two at a time */
+        Assertions.assertThat(duration).isGreaterThan(599);
+    }
+
+    @Test
+    void probeStrategyHead() {
+        RestAssured.delete("http://localhost:8084/accessLog")
+                .then()
+                .statusCode(201);
+        Assertions.assertThat(
+                links(
+                        "http://localhost:8084/head/200/0",
+                        "http://localhost:8084/head/404/1",
+                        "http://localhost:8084/constant/200/2",
+                        "http://localhost:8084/fragment/javaDoc#parse(java.lang.CharSequence)")
+                        .group("http://localhost:8084/.*")
+                        .probeStrategy(ProbeStrategy.HEAD)
+                        .endGroup()
+                        .validate()
+                        .stream()
+                        .map(ValidationResult::toString))
+                .containsExactly(
+                        "http://localhost:8084/head/404/1: 404, attempted 1 times");
+
+        List<String> accessLog = Arrays.asList(RestAssured.get("http://localhost:8084/accessLog")
+                .then()
+                .statusCode(200)
+                .extract().body().asString().split(","));
+
+        /*
+         * /constant/200/2 does not support HEAD, so it is fetched with GET;
+         * the link with a fragment is fetched with GET straight away
+         */
+        Assertions.assertThat(accessLog)
+                .containsExactlyInAnyOrder(
+                        "/head/200/0 200",
+                        "/head/404/1 404",
+                        "/constant/200/2 200",
+                        "/fragment/javaDoc 200");
+    }
+
+    @Test
+    void maxBodySize() {
+        Assertions.assertThat(
+                links(
+                        "http://localhost:8084/big/0#top",
+                        "http://localhost:8084/big/0#bottom")
+                        .group("http://localhost:8084/.*")
+                        .maxBodySize(10_000)
+                        .endGroup()
+                        .validate()
+                        .stream()
+                        .map(ValidationResult::toString))
+                .containsExactly(
+                        "http://localhost:8084/big/0#bottom: Cannot find #bottom in the first 10000 bytes of the body; consider raising LinkGroup.maxBodySize(), attempted 0 times");
+
+        Assertions.assertThat(
+                links(
+                        "http://localhost:8084/big/1#top",
+                        "http://localhost:8084/big/1#bottom")
+                        .validate()
+                        .stream())
+                .isEmpty();
+    }
+
     @Test
     void gitHubBlobRaw() {
 
@@ -533,6 +647,14 @@ public class LinkStreamTest {
                     .end("");
         });
 
+        router.head("/head/:status/:random").handler(context -> {
+            final int statusCode = Integer.parseInt(context.pathParam("status"));
+            accessLogger.accept(context, statusCode);
+            context.response()
+                    .setStatusCode(statusCode)
+                    .end();
+        });
+
         router.get("/fragment/javaDoc").handler(context -> {
             final int statusCode = 200;
             accessLogger.accept(context, statusCode);
@@ -553,6 +675,19 @@ public class LinkStreamTest {
                             """);
         });
 
+        router.get("/big/:random").handler(context -> {
+            final int statusCode = 200;
+            accessLogger.accept(context, statusCode);
+            final StringBuilder body = new StringBuilder("<html><body><h1 id=\"top\">Top</h1>");
+            for (int i = 0; i < 100_000; i++) {
+                body.append("<p>Lorem ipsum</p>");
+            }
+            body.append("<div id=\"bottom\"></div></body></html>");
+            context.response()
+                    .setStatusCode(statusCode)
+                    .end(body.toString());
+        });
+
         router.get("/basicAuth/:random").handler(context -> {
             final String authHeader = context.request().getHeader(HttpHeaders.AUTHORIZATION);
             final int statusCode;
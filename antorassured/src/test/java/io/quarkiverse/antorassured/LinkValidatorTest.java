@@ -35,6 +35,23 @@ public class LinkValidatorTest {
 
     }
 
+    @Test
+    void rateLimitPastDeadline() {
+        final LinkGroup group = LinkStream.createDefaultGroup().rateLimit(RateLimit.tokenBucket(1, 60_000L, 1));
+        final long deadline = System.currentTimeMillis() + 1000L;
+        final LinkValidator validator = LinkValidator.defaultValidator();
+        /* Takes the only token; nobody listens on port 1 */
+        Assertions.assertThat(validator.validate(
+                new ValidationRequest(Link.ofResolved("http://localhost:1/a"), 2, group, deadline, 1000L)).isInvalid())
+                .isTrue();
+
+        /* The next token would come after the deadline, so we do not wait for it */
+        final ValidationResult result = validator.validate(
+                new ValidationRequest(Link.ofResolved("http://localhost:1/b"), 2, group, deadline, 1000L));
+        Assertions.assertThat(result.toString())
+                .isEqualTo("http://localhost:1/b: Did not try, overall timeout of 1000 ms expired, attempted 0 times");
+    }
+
     static ValidationRequest req(String link) {
         return new ValidationRequest(Link.ofResolved(link), 2, LinkStream.createDefaultGroup());
     }
@@ -0,0 +1,60 @@
+package io.quarkiverse.antorassured;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.antorassured.ResourceResolver.ResourceResolverImpl;
+
+public class LocalLinkValidatorTest {
+
+    @Test
+    void toLocalPath() {
+        final Path siteBranchDir = Path.of("/foo/bar/site/mod/1.0");
+        final ResourceResolver r = resolver(siteBranchDir);
+
+        Assertions.assertThat(LocalLinkValidator.toLocalPath(r, "http://localhost:8081/mod/1.0/page.html"))
+                .isEqualTo(siteBranchDir.resolve("page.html"));
+        Assertions.assertThat(LocalLinkValidator.toLocalPath(r, "http://localhost:8081/mod/1.0/folder/"))
+                .isEqualTo(siteBranchDir.resolve("folder/index.html"));
+        Assertions.assertThat(LocalLinkValidator.toLocalPath(r, "http://localhost:8081/other/2.0/page%20two.html"))
+                .isEqualTo(Path.of("/foo/bar/site/other/2.0/page two.html"));
+        Assertions.assertThat(LocalLinkValidator.toLocalPath(r, "http://localhost:8082/mod/1.0/page.html")).isNull();
+        Assertions.assertThat(LocalLinkValidator.toLocalPath(r, "https://quarkus.io/mod/1.0/page.html")).isNull();
+    }
+
+    @Test
+    void validate() throws IOException {
+        final Path siteBranchDir = Files.createTempDirectory(LocalLinkValidatorTest.class.getSimpleName())
+                .resolve("mod/1.0");
+        Files.createDirectories(siteBranchDir);
+        Files.writeString(siteBranchDir.resolve("page.html"), "<html><body><h2 id=\"_foo\">Foo</h2></body></html>",
+                StandardCharsets.UTF_8);
+        final LinkValidator validator = new LocalLinkValidator(resolver(siteBranchDir), request -> {
+            throw new AssertionError("Unexpected delegation of " + request.link());
+        });
+
+        Assertions.assertThat(validator.validate(req("http://localhost:8081/mod/1.0/page.html")).isValid()).isTrue();
+        Assertions.assertThat(validator.validate(req("http://localhost:8081/mod/1.0/page.html#_foo")).isValid()).isTrue();
+        final ValidationResult badFragment = validator.validate(req("http://localhost:8081/mod/1.0/page.html#_bar"));
+        Assertions.assertThat(badFragment.isValid()).isFalse();
+        final ValidationResult missing = validator.validate(req("http://localhost:8081/mod/1.0/missing.html"));
+        Assertions.assertThat(missing.isValid()).isFalse();
+        Assertions.assertThat(missing.statusCode()).isEqualTo(404);
+    }
+
+    static ResourceResolver resolver(Path siteBranchDir) {
+        return new ResourceResolverImpl(Path.of("/foo/bar/src"), siteBranchDir, Map.of(), "http://localhost:8081/mod/1.0/",
+                ResourceResolverImpl.gitRepoRoot(Path.of(".")));
+    }
+
+    static ValidationRequest req(String link) {
+        return new ValidationRequest(Link.ofResolved(link), 2, LinkStream.createDefaultGroup());
+    }
+
+}
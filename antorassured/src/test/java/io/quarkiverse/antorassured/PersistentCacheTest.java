@@ -0,0 +1,76 @@
+package io.quarkiverse.antorassured;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.antorassured.Response.BodyState;
+
+public class PersistentCacheTest {
+
+    @Test
+    void formatParse() {
+        final Response response = new Response(
+                "https://example.com/page",
+                200,
+                StandardCharsets.UTF_8,
+                "text/html; charset=UTF-8",
+                null,
+                AnchorIndex.of(List.of("tab\there", "100%", "plain"), 42),
+                BodyState.PARTIAL,
+                "\"v1\"",
+                null);
+        final String line = PersistentCache.format(new PersistentCache.Entry(response, 123L));
+        Assertions.assertThat(line).endsWith("\n").hasLineCount(1);
+
+        final PersistentCache.Entry entry = PersistentCache.parse(line.substring(0, line.length() - 1));
+        Assertions.assertThat(entry.fetchedAtMs()).isEqualTo(123L);
+        final Response parsed = entry.response();
+        Assertions.assertThat(parsed.uri()).isEqualTo("https://example.com/page");
+        Assertions.assertThat(parsed.statusCode()).isEqualTo(200);
+        Assertions.assertThat(parsed.charset()).isEqualTo(StandardCharsets.UTF_8);
+        Assertions.assertThat(parsed.contentType()).isEqualTo("text/html; charset=UTF-8");
+        Assertions.assertThat(parsed.bodyState()).isEqualTo(BodyState.PARTIAL);
+        Assertions.assertThat(parsed.etag()).isEqualTo("\"v1\"");
+        Assertions.assertThat(parsed.lastModified()).isNull();
+        Assertions.assertThat(parsed.anchors().size()).isEqualTo(3);
+        Assertions.assertThat(parsed.anchors().contains("tab\there")).isTrue();
+        Assertions.assertThat(parsed.anchors().contains("100%")).isTrue();
+        Assertions.assertThat(parsed.anchors().lineCount()).isEqualTo(42);
+
+        Assertions.assertThat(PersistentCache.parse("https://example.com/page\tfoo")).isNull();
+    }
+
+    @Test
+    void reopen() throws IOException {
+        final Path file = Files.createTempDirectory(PersistentCacheTest.class.getSimpleName()).resolve("sub/cache.tsv");
+        final Instant now = Instant.parse("2024-06-01T12:00:00Z");
+
+        final PersistentCache cache = PersistentCache.open(file, Clock.fixed(now, ZoneOffset.UTC));
+        cache.put(new Response("https://example.com/a", 200, null, null, null));
+        cache.put(new Response("https://example.com/b", 200, null, null, null));
+        cache.put(new Response("https://example.com/a", 200, null, "text/plain", null));
+        Assertions.assertThat(Files.readAllLines(file)).hasSize(4);
+
+        final PersistentCache reopened = PersistentCache.open(file,
+                Clock.fixed(now.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+        /* Compacted */
+        Assertions.assertThat(Files.readAllLines(file)).hasSize(3);
+
+        final PersistentCache.Entry a = reopened.get("https://example.com/a");
+        Assertions.assertThat(a.response().contentType()).isEqualTo("text/plain");
+        Assertions.assertThat(reopened.isFresh(a, Duration.ofHours(3))).isTrue();
+        Assertions.assertThat(reopened.isFresh(a, Duration.ofHours(1))).isFalse();
+        Assertions.assertThat(reopened.get("https://example.com/c")).isNull();
+    }
+
+}
@@ -8,6 +8,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.quarkiverse.antorassured.RateLimit.RequestsPerTimeRateLimit;
+import io.quarkiverse.antorassured.RateLimit.TokenBucketRateLimit;
 
 public class RateLimitTest {
 
@@ -39,6 +40,38 @@ public class RateLimitTest {
 
     }
 
+    @Test
+    void tokenBucket() {
+        final MutableClock clock = new MutableClock(123L);
+        /* 2 requests per second, i.e. one token every 500 ms, at most 3 at once */
+        final RateLimit limit = new TokenBucketRateLimit(2, 1000L, 3, LinkStream::host, clock);
+        final LinkGroup group = LinkStream.createDefaultGroup();
+
+        /* The burst */
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/1", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/2", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/3", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/4", group)).isEqualTo(500L);
+        /* Asking does not consume any token */
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/4", group)).isEqualTo(500L);
+
+        /* Other hosts have their own buckets */
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://bar/1", group)).isEqualTo(0L);
+
+        clock.forward(200L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/4", group)).isEqualTo(300L);
+        clock.forward(300L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/4", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/5", group)).isEqualTo(500L);
+
+        /* The bucket refills up to its capacity */
+        clock.forward(10_000L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/6", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/7", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/8", group)).isEqualTo(0L);
+        Assertions.assertThat(limit.scheduleInMilliseconds("http://foo/9", group)).isEqualTo(500L);
+    }
+
     class MutableClock extends Clock {
         long millis;
 
@@ -0,0 +1,55 @@
+package io.quarkiverse.antorassured;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RetrySchedulerTest {
+
+    @Test
+    void concurrentRetries() {
+        final long start = System.currentTimeMillis();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final RetryScheduler scheduler = new RetryScheduler(
+                link -> new ValidationRequest(link, 2, LinkStream.createDefaultGroup()),
+                req -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return CompletableFuture.supplyAsync(
+                            () -> {
+                                inFlight.decrementAndGet();
+                                return req.link().resolvedUri().contains("broken")
+                                        ? ValidationResult.invalid(req.link(), 404, "Not found", 2)
+                                        : ValidationResult.valid(req.link(), 200);
+                            },
+                            CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS));
+                },
+                start + 10_000L,
+                10_000L);
+        for (int i = 0; i < 5; i++) {
+            scheduler.schedule(retry("http://localhost:8084/ok/" + i, start + 100));
+        }
+        scheduler.schedule(retry("http://localhost:8084/broken", start + 100));
+        scheduler.schedule(retry("http://localhost:8084/late", start + 20_000));
+
+        final List<String> invalid = scheduler.run().stream()
+                .map(ValidationResult::toString)
+                .sorted()
+                .collect(Collectors.toList());
+        Assertions.assertThat(invalid).containsExactly(
+                "http://localhost:8084/broken: Not found, attempted 0 times",
+                "http://localhost:8084/late: Did not try (again), overall timeout of 10000 ms expired, attempted 0 times");
+        /* The retries due at the same time do not wait for each other */
+        Assertions.assertThat(maxInFlight.get()).isGreaterThan(1);
+    }
+
+    static ValidationResult retry(String uri, long retryAt) {
+        return ValidationResult.retry(Link.ofResolved(uri), 503, "Service Unavailable", retryAt, 1, 2);
+    }
+
+}
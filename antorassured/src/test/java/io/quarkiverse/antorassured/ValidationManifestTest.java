@@ -0,0 +1,91 @@
+package io.quarkiverse.antorassured;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ValidationManifestTest {
+    private static final Duration TTL = Duration.ofDays(1);
+
+    @Test
+    void incremental() throws IOException {
+        final Path dir = Files.createTempDirectory(ValidationManifestTest.class.getSimpleName());
+        final Path manifestFile = dir.resolve("manifest.tsv");
+        final Path a = write(dir.resolve("a.html"), "<a href=\"https://example.com/x\">");
+        final Path b = write(dir.resolve("b.html"), "<a href=\"https://example.com/z\">");
+        final Instant now = Instant.parse("2024-06-01T12:00:00Z");
+
+        /* First run: everything is new; z is broken */
+        ValidationManifest manifest = ValidationManifest.open(manifestFile, clock(now));
+        final Link x = link("https://example.com/x", a);
+        final Link z = link("https://example.com/z", b);
+        Assertions.assertThat(manifest.shouldValidate(x, TTL)).isTrue();
+        Assertions.assertThat(manifest.shouldValidate(z, TTL)).isTrue();
+        Assertions.assertThat(manifest.lateLinks(link -> TTL)).isEmpty();
+        Assertions.assertThat(manifest.update(List.of(ValidationResult.invalid(z, 404, "Not found", 1)))).isEmpty();
+
+        /* Second run: a is unchanged, b had a broken link */
+        manifest = ValidationManifest.open(manifestFile, clock(now.plus(Duration.ofHours(1))));
+        Assertions.assertThat(manifest.shouldValidate(link("https://example.com/x", a), TTL)).isFalse();
+        Assertions.assertThat(manifest.shouldValidate(link("https://example.com/z", b), TTL)).isTrue();
+        Assertions.assertThat(manifest.update(List.of())).containsExactly(a);
+
+        /* Third run: the previous validation of x expired */
+        manifest = ValidationManifest.open(manifestFile, clock(now.plus(Duration.ofMinutes(24 * 60 + 30))));
+        Assertions.assertThat(manifest.shouldValidate(link("https://example.com/x", a), TTL)).isTrue();
+        Assertions.assertThat(manifest.shouldValidate(link("https://example.com/z", b), TTL)).isFalse();
+        Assertions.assertThat(manifest.update(List.of())).containsExactly(b);
+
+        /* Fourth run: x found on a changed page after it was skipped */
+        write(b, "<a href=\"https://example.com/z\"><a href=\"https://example.com/x\">");
+        manifest = ValidationManifest.open(manifestFile, clock(now.plus(Duration.ofMinutes(24 * 60 + 30))));
+        final Link lateX = link("https://example.com/x", a);
+        Assertions.assertThat(manifest.shouldValidate(lateX, TTL)).isFalse();
+        lateX.occurrences().add(b);
+        Assertions.assertThat(manifest.shouldValidate(link("https://example.com/z", b), TTL)).isTrue();
+        Assertions.assertThat(manifest.lateLinks(link -> TTL)).containsExactly(lateX);
+        Assertions.assertThat(manifest.update(List.of())).isEmpty();
+    }
+
+    @Test
+    void localLinksNeverSkipped() throws IOException {
+        final Path dir = Files.createTempDirectory(ValidationManifestTest.class.getSimpleName());
+        final Path manifestFile = dir.resolve("manifest.tsv");
+        final Path a = write(dir.resolve("a.html"), "<a href=\"http://localhost:8081/b.html#x\">");
+        final Instant now = Instant.parse("2024-06-01T12:00:00Z");
+
+        ValidationManifest manifest = ValidationManifest.open(manifestFile, clock(now));
+        Assertions.assertThat(manifest.shouldValidate(link("http://localhost:8081/b.html#x", a), TTL)).isTrue();
+        manifest.update(List.of());
+
+        /* a is unchanged, but b.html might have lost #x in the meantime */
+        manifest = ValidationManifest.open(manifestFile, clock(now.plus(Duration.ofHours(1))));
+        Assertions.assertThat(manifest.shouldValidate(link("http://localhost:8081/b.html#x", a), TTL)).isTrue();
+    }
+
+    static Link link(String uri, Path page) {
+        final Set<Path> occurrences = new ConcurrentSkipListSet<>();
+        occurrences.add(page);
+        return new Link(uri, uri, occurrences);
+    }
+
+    static Path write(Path file, String content) throws IOException {
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    static Clock clock(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+}
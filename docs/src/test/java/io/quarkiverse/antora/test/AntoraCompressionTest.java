@@ -0,0 +1,75 @@
+package io.quarkiverse.antora.test;
+
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+
+@QuarkusTest
+@TestProfile(AntoraCompressionTest.CompressionProfile.class)
+public class AntoraCompressionTest {
+    private static final String PATH = "/quarkus-antora/dev/index.html";
+
+    public static class CompressionProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.http.enable-compression", "true");
+        }
+    }
+
+    @Test
+    public void weakEtagWhenCompressedOnTheFly() {
+        final String etag = request("gzip")
+                .get(PATH)
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", CoreMatchers.containsStringIgnoringCase("Accept-Encoding"))
+                .header("ETag", CoreMatchers.startsWith("W/\""))
+                .extract().header("ETag");
+
+        request("gzip")
+                .header("If-None-Match", etag)
+                .get(PATH)
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+
+        /* Sent as is, so the strong entity tag holds */
+        final String identityEtag = request("identity")
+                .get(PATH)
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", CoreMatchers.not("gzip"))
+                .header("ETag", CoreMatchers.startsWith("\""))
+                .extract().header("ETag");
+        Assertions.assertThat(etag).isEqualTo("W/" + identityEtag);
+
+        /* Both are the same resource under weak comparison */
+        request("identity")
+                .header("If-None-Match", etag)
+                .get(PATH)
+                .then()
+                .statusCode(304);
+    }
+
+    /**
+     * @return a request sending the given {@code Accept-Encoding} and leaving the body as received
+     */
+    static RequestSpecification request(String acceptEncoding) {
+        return RestAssured
+                .given()
+                .config(RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", acceptEncoding);
+    }
+
+}
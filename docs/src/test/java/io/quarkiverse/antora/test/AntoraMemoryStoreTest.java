@@ -0,0 +1,63 @@
+package io.quarkiverse.antora.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.antora.WebResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+
+@QuarkusTest
+@TestProfile(AntoraMemoryStoreTest.MemoryStoreProfile.class)
+public class AntoraMemoryStoreTest {
+    /** Where Quarkus Antora stores the site in test mode */
+    private static final Path SITE_DIR = Path.of("target/classes/META-INF/antora");
+    private static final long MAX_SIZE = 256 * 1024;
+
+    public static class MemoryStoreProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "quarkus.antora.memory-store.enabled", "true",
+                    "quarkus.antora.memory-store.max-size", String.valueOf(MAX_SIZE),
+                    /* Store the big images in memory too */
+                    "quarkus.antora.large-assets.enabled", "false");
+        }
+    }
+
+    @Test
+    public void serveFromMemory() throws IOException {
+        final List<Path> files;
+        try (Stream<Path> s = Files.walk(SITE_DIR)) {
+            files = s.filter(Files::isRegularFile).sorted().toList();
+        }
+        long siteSize = 0;
+        for (Path file : files) {
+            siteSize += Files.size(file);
+        }
+        /* Otherwise nothing would ever be evicted and loaded again on request */
+        Assertions.assertThat(siteSize).isGreaterThan(MAX_SIZE);
+
+        for (int round = 0; round < 2; round++) {
+            for (Path file : files) {
+                final String path = WebResource.encodeURI("/" + SITE_DIR.relativize(file).toString().replace('\\', '/'));
+                final byte[] body = RestAssured
+                        .get(path)
+                        .then()
+                        .statusCode(200)
+                        .extract().asByteArray();
+                Assertions.assertThat(body).as(path).isEqualTo(Files.readAllBytes(file));
+            }
+        }
+    }
+
+}
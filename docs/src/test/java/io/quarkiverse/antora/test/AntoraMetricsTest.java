@@ -0,0 +1,84 @@
+package io.quarkiverse.antora.test;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+
+@QuarkusTest
+public class AntoraMetricsTest {
+    private static final String PATH = "/quarkus-antora/dev/index.html";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Test
+    public void meters() throws InterruptedException {
+        final Counter served = requests("page", "static", "identity");
+        final Counter compressed = requests("page", "static", "compressed");
+        final Counter notModified = requests("page", "not_modified", "identity");
+        final Counter notFound = requests("page", "not_found", "identity");
+        final Timer duration = registry.get("antora.request.duration")
+                .tag("path.class", "page")
+                .tag("outcome", "static")
+                .timer();
+        final Counter bytes = registry.get("antora.response.bytes").tag("path.class", "page").counter();
+
+        final double servedBefore = served.count();
+        final double compressedBefore = compressed.count();
+        final double notModifiedBefore = notModified.count();
+        final double notFoundBefore = notFound.count();
+        final long durationBefore = duration.count();
+        final double bytesBefore = bytes.count();
+
+        /* RestAssured accepts gzip, but HTTP compression is disabled, so the response is sent as is */
+        final String etag = RestAssured
+                .get(PATH)
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        RestAssured
+                .given()
+                .header("If-None-Match", etag)
+                .get(PATH)
+                .then()
+                .statusCode(304);
+        RestAssured
+                .get("/quarkus-antora/dev/no-such-page.html")
+                .then()
+                .statusCode(404);
+
+        /* Recorded once the response is ended, possibly after the client has received it */
+        awaitCount(notFound, notFoundBefore + 1);
+        awaitCount(notModified, notModifiedBefore + 1);
+        awaitCount(served, servedBefore + 1);
+        Assertions.assertThat(compressed.count()).isEqualTo(compressedBefore);
+        Assertions.assertThat(duration.count()).isEqualTo(durationBefore + 1);
+        Assertions.assertThat(bytes.count()).isGreaterThan(bytesBefore);
+    }
+
+    Counter requests(String pathClass, String outcome, String encoding) {
+        return registry.get("antora.requests")
+                .tag("path.class", pathClass)
+                .tag("outcome", outcome)
+                .tag("encoding", encoding)
+                .counter();
+    }
+
+    static void awaitCount(Counter counter, double expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter.count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(counter.count()).isEqualTo(expected);
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.quarkiverse.antora.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+
+@QuarkusTest
+public class AntoraServingTest {
+
+    @Test
+    public void etag() {
+        final String etag = RestAssured
+                .get("/quarkus-antora/dev/index.html")
+                .then()
+                .statusCode(200)
+                .header("ETag", CoreMatchers.startsWith("\""))
+                .extract().header("ETag");
+
+        RestAssured
+                .given()
+                .header("If-None-Match", etag)
+                .get("/quarkus-antora/dev/index.html")
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+
+        RestAssured
+                .given()
+                .header("If-None-Match", "W/" + etag)
+                .get("/quarkus-antora/dev/index.html")
+                .then()
+                .statusCode(304);
+
+        RestAssured
+                .given()
+                .header("If-None-Match", "\"foo\"")
+                .get("/quarkus-antora/dev/index.html")
+                .then()
+                .statusCode(200)
+                .header("ETag", etag);
+    }
+
+    @Test
+    public void cacheControl() {
+        RestAssured
+                .get("/quarkus-antora/dev/index.html")
+                .then()
+                .statusCode(200)
+                .header("Cache-Control", "public, max-age=60, stale-while-revalidate=600");
+
+        RestAssured
+                .get("/_/css/site.css")
+                .then()
+                .statusCode(200)
+                .header("Cache-Control", "public, max-age=31536000, immutable");
+
+        /* The root index.html redirects to the start page */
+        RestAssured
+                .get("/index.html")
+                .then()
+                .statusCode(200)
+                .header("Cache-Control", "no-store");
+    }
+
+    @Test
+    public void range() {
+        final String path = "/quarkus-antora/dev/_images/live-edit.png";
+        final byte[] body = RestAssured
+                .get(path)
+                .then()
+                .statusCode(200)
+                .header("Accept-Ranges", "bytes")
+                .extract().asByteArray();
+
+        final byte[] part = RestAssured
+                .given()
+                .header("Range", "bytes=10-19")
+                .get(path)
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 10-19/" + body.length)
+                .extract().asByteArray();
+        Assertions.assertThat(part).isEqualTo(Arrays.copyOfRange(body, 10, 20));
+
+        RestAssured
+                .given()
+                .header("Range", "bytes=" + body.length + "-")
+                .get(path)
+                .then()
+                .statusCode(416)
+                .header("Content-Range", "bytes */" + body.length);
+    }
+
+    @Test
+    public void notFound() throws IOException {
+        final byte[] body = RestAssured
+                .get("/quarkus-antora/dev/no-such-page.html")
+                .then()
+                .statusCode(404)
+                .contentType(CoreMatchers.startsWith("text/html"))
+                .header("Cache-Control", "no-store")
+                .extract().asByteArray();
+        /* Where Quarkus Antora stores the site in test mode */
+        Assertions.assertThat(body).isEqualTo(Files.readAllBytes(Path.of("target/classes/META-INF/antora/404.html")));
+
+        RestAssured
+                .head("/_/no-such-script.js")
+                .then()
+                .statusCode(404)
+                .header("Cache-Control", "no-store");
+
+        /* Outside of the site's top level directories, answered by Quarkus */
+        RestAssured
+                .get("/no-such-directory/index.html")
+                .then()
+                .statusCode(404)
+                .header("Cache-Control", CoreMatchers.not("no-store"));
+    }
+
+    @Test
+    public void preload() {
+        RestAssured
+                .get("/quarkus-antora/dev/index.html")
+                .then()
+                .statusCode(200)
+                .header("Link", CoreMatchers.containsString("/_/css/site.css>; rel=preload; as=style"));
+    }
+
+}
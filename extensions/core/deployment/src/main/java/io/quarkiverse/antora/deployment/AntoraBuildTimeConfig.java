@@ -6,6 +6,7 @@ import java.util.Optional;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 
 @ConfigMapping(prefix = "quarkus.antora")
 @ConfigRoot(phase = ConfigPhase.BUILD_TIME)
@@ -18,4 +19,17 @@ public interface AntoraBuildTimeConfig {
      * @since 3.33.0
      */
     Optional<List<String>> additionalArgs();
+
+    /**
+     * If `true`, the relative links and their `#fragments` between the pages of the generated site will be validated
+     * at build time and the build will fail if any of them cannot be resolved.
+     * The validation happens in memory, so it neither requires starting the application nor any network access.
+     * External links are not checked.
+     * Use AntorAssured for validating those.
+     *
+     * @asciidoclet
+     * @since 3.33.3
+     */
+    @WithDefault("false")
+    boolean validateInternalLinks();
 }
@@ -0,0 +1,21 @@
+package io.quarkiverse.antora.deployment;
+
+import io.quarkiverse.antora.AntoraMetrics;
+import io.quarkus.builder.item.SimpleBuildItem;
+import io.quarkus.runtime.RuntimeValue;
+
+/**
+ * Holds the Micrometer backed {@link AntoraMetrics}. Produced only if the Quarkus Micrometer extension is present.
+ */
+public final class AntoraMetricsBuildItem extends SimpleBuildItem {
+
+    private final RuntimeValue<AntoraMetrics> metrics;
+
+    public AntoraMetricsBuildItem(RuntimeValue<AntoraMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    public RuntimeValue<AntoraMetrics> getMetrics() {
+        return metrics;
+    }
+}
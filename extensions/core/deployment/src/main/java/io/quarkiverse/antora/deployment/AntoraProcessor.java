@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -21,6 +22,7 @@ import org.jboss.logging.Logger;
 import org.yaml.snakeyaml.Yaml;
 
 import io.quarkiverse.antora.FixedConfig;
+import io.quarkiverse.antora.deployment.InternalLinkValidator.BrokenLink;
 import io.quarkiverse.antora.spi.AntoraPlaybookBuildItem;
 import io.quarkus.deployment.IsDevelopment;
 import io.quarkus.deployment.annotations.BuildProducer;
@@ -113,6 +115,7 @@ public class AntoraProcessor {
                 pbInfo.npmPackages(),
                 buildTimeConfig.additionalArgs().orElse(Collections.emptyList()));
 
+        final Map<String, byte[]> siteContent = buildTimeConfig.validateInternalLinks() ? new TreeMap<>() : null;
         try (Stream<Path> files = Files.walk(pbInfo.outDir)) {
             files.forEach(absP -> {
                 final String relPath = pbInfo.outDir.relativize(absP).toString();
@@ -150,12 +153,25 @@ public class AntoraProcessor {
                     }
                     log.infof("Producing META-INF/antora/%s", relPath);
                     staticResourceProducer.produce(new GeneratedWebResourceBuildItem("/" + relPath, bytes));
+                    if (siteContent != null) {
+                        siteContent.put("/" + relPath.replace('\\', '/'), bytes);
+                    }
                 }
             });
         } catch (IOException e) {
             throw new RuntimeException("Could not walk " + pbInfo.outDir, e);
         }
 
+        if (siteContent != null) {
+            final List<BrokenLink> brokenLinks = InternalLinkValidator.validate(siteContent);
+            if (!brokenLinks.isEmpty()) {
+                throw new RuntimeException(InternalLinkValidator.report(brokenLinks));
+            }
+            log.infof("Validated internal links of %d pages", siteContent.keySet().stream()
+                    .filter(p -> p.endsWith(".html"))
+                    .count());
+        }
+
     }
 
     private void buildWithContainer(
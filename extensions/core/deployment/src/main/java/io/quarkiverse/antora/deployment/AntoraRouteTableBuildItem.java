@@ -0,0 +1,21 @@
+package io.quarkiverse.antora.deployment;
+
+import io.quarkiverse.antora.RouteTable;
+import io.quarkus.builder.item.SimpleBuildItem;
+import io.quarkus.runtime.RuntimeValue;
+
+/**
+ * Holds the {@link RouteTable} of the generated site created during static init.
+ */
+public final class AntoraRouteTableBuildItem extends SimpleBuildItem {
+
+    private final RuntimeValue<RouteTable> routeTable;
+
+    public AntoraRouteTableBuildItem(RuntimeValue<RouteTable> routeTable) {
+        this.routeTable = routeTable;
+    }
+
+    public RuntimeValue<RouteTable> getRouteTable() {
+        return routeTable;
+    }
+}
@@ -2,6 +2,9 @@ package io.quarkiverse.antora.deployment;
 
 import static io.quarkiverse.antora.WebBundlerResourceHandler.META_INF_ANTORA;
 
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
 import io.quarkus.builder.item.MultiBuildItem;
 import io.quarkus.runtime.util.HashUtil;
 
@@ -10,6 +13,10 @@ import io.quarkus.runtime.util.HashUtil;
  * https://github.com/quarkiverse/quarkus-web-bundler/blob/main/deployment/src/298c2f07e5346b4011332b9fe6ed15ede12e9d1b/java/io/quarkiverse/web/bundler/deployment/web/GeneratedWebResourceBuildItem.java
  */
 public final class GeneratedWebResourceBuildItem extends MultiBuildItem {
+    private static final Pattern META_REFRESH_PATTERN = Pattern.compile("<meta\\s+http-equiv=[\"']?refresh",
+            Pattern.CASE_INSENSITIVE);
+    /** Redirect pages generated by Antora are tiny, so it is enough to look at the beginning of the page */
+    private static final int REDIRECT_PAGE_PREFIX_LENGTH = 2048;
 
     private final String publicPath;
     private final byte[] content;
@@ -36,4 +43,17 @@ public final class GeneratedWebResourceBuildItem extends MultiBuildItem {
     public String contentHash() {
         return contentHash;
     }
+
+    /**
+     * @return {@code true} if this is an HTML page redirecting to some other page via
+     *         {@code <meta http-equiv="refresh">}, such as the ones Antora generates for page aliases
+     */
+    public boolean isRedirectPage() {
+        if (!publicPath.endsWith(".html")) {
+            return false;
+        }
+        final String prefix = new String(content, 0, Math.min(content.length, REDIRECT_PAGE_PREFIX_LENGTH),
+                StandardCharsets.UTF_8);
+        return META_REFRESH_PATTERN.matcher(prefix).find();
+    }
 }
@@ -3,33 +3,52 @@ package io.quarkiverse.antora.deployment;
 import static io.quarkiverse.antora.WebBundlerResourceHandler.DEFAULT_ROUTE_ORDER;
 import static io.quarkiverse.antora.WebBundlerResourceHandler.META_INF_ANTORA;
 import static io.quarkus.deployment.annotations.ExecutionTime.RUNTIME_INIT;
+import static io.quarkus.deployment.annotations.ExecutionTime.STATIC_INIT;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.antora.AntoraMetrics;
+import io.quarkiverse.antora.AntoraMicrometerRecorder;
 import io.quarkiverse.antora.WebBundlerResourceRecorder;
+import io.quarkiverse.antora.WebResource;
 import io.quarkus.bootstrap.workspace.ArtifactSources;
 import io.quarkus.bootstrap.workspace.SourceDir;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.ExecutorBuildItem;
 import io.quarkus.deployment.builditem.GeneratedResourceBuildItem;
 import io.quarkus.deployment.builditem.LaunchModeBuildItem;
 import io.quarkus.deployment.builditem.LiveReloadBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
 import io.quarkus.deployment.pkg.builditem.CurateOutcomeBuildItem;
 import io.quarkus.deployment.pkg.builditem.OutputTargetBuildItem;
 import io.quarkus.deployment.util.FileUtil;
 import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.metrics.MetricsFactory;
+import io.quarkus.vertx.core.deployment.CoreVertxBuildItem;
 import io.quarkus.vertx.http.deployment.RouteBuildItem;
+import io.quarkus.vertx.http.runtime.VertxHttpBuildTimeConfig;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
 
 /**
  * Adapted from
@@ -37,6 +56,8 @@ import io.quarkus.vertx.http.deployment.RouteBuildItem;
  */
 public class GeneratedWebResourcesProcessor {
     private static final Logger LOGGER = Logger.getLogger(GeneratedWebResourcesProcessor.class);
+    /** Characters that have no special meaning in Vert.x route paths and that need no URI-encoding */
+    private static final Pattern ROUTE_SEGMENT_PATTERN = Pattern.compile("[A-Za-z0-9._~-]+");
 
     @BuildStep
     public void processStaticFiles(
@@ -66,13 +87,42 @@ public class GeneratedWebResourcesProcessor {
             }
         }
 
+        final Map<String, String> canonicalPaths = canonicalPaths(staticResources);
+        long savedBytes = 0;
         for (GeneratedWebResourceBuildItem staticResource : staticResources) {
+            if (!canonicalPaths.get(staticResource.publicPath()).equals(staticResource.publicPath())) {
+                /* The same content is stored under its canonical path already */
+                savedBytes += staticResource.content().length;
+                continue;
+            }
             // generated resource for prod
             prodResourcesProducer.produce(new GeneratedResourceBuildItem(staticResource.resourceName(),
                     staticResource.content(), false));
             // for native
             nativeImageResourcesProducer.produce(new NativeImageResourceBuildItem(staticResource.resourceName()));
         }
+        LOGGER.debugf("Deduplicated %d Antora resources with identical content, saving %d bytes",
+                staticResources.size() - canonicalPaths.values().stream().distinct().count(), savedBytes);
+    }
+
+    /**
+     * Resources with identical content are stored only once, under the lexicographically smallest of their paths, so
+     * that the result does not depend on the order of the given {@code staticResources}.
+     *
+     * @param staticResources the resources of the site
+     * @return the path under which the content is stored by {@link GeneratedWebResourceBuildItem#publicPath()} of each
+     *         of the given {@code staticResources}
+     */
+    static Map<String, String> canonicalPaths(List<GeneratedWebResourceBuildItem> staticResources) {
+        final Map<String, String> pathByHash = new HashMap<>();
+        for (GeneratedWebResourceBuildItem r : staticResources) {
+            pathByHash.merge(r.contentHash(), r.publicPath(), (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+        final Map<String, String> result = new HashMap<>(staticResources.size() * 2);
+        for (GeneratedWebResourceBuildItem r : staticResources) {
+            result.put(r.publicPath(), pathByHash.get(r.contentHash()));
+        }
+        return result;
     }
 
     private static void createGeneratedResourceOnDisk(GeneratedWebResourceBuildItem r, Path buildDir) {
@@ -86,27 +136,134 @@ public class GeneratedWebResourcesProcessor {
         }
     }
 
+    @BuildStep
+    @Record(STATIC_INIT)
+    public void staticInit(
+            LaunchModeBuildItem launchMode,
+            List<GeneratedWebResourceBuildItem> staticResources,
+            VertxHttpBuildTimeConfig httpBuildTimeConfig,
+            WebBundlerResourceRecorder recorder,
+            BuildProducer<AntoraRouteTableBuildItem> routeTable) {
+        if (staticResources.isEmpty()) {
+            return;
+        }
+        final Set<String> compressMediaTypes;
+        if (httpBuildTimeConfig.enableCompression() && httpBuildTimeConfig.compressMediaTypes().isPresent()) {
+            compressMediaTypes = Set.copyOf(httpBuildTimeConfig.compressMediaTypes().get());
+        } else {
+            compressMediaTypes = Set.of();
+        }
+        final List<WebResource> webResources = webResources(staticResources, compressMediaTypes,
+                launchMode.getLaunchMode() == LaunchMode.DEVELOPMENT);
+        routeTable.produce(new AntoraRouteTableBuildItem(recorder.createRouteTable(webResources)));
+    }
+
+    /**
+     * @param staticResources the files of the site
+     * @param compressMediaTypes the media types to compress; empty if compression is disabled
+     * @param devMode {@code true} if the application is running in dev mode
+     * @return a {@link WebResource} for each of the given {@code staticResources}, in the same order
+     */
+    static List<WebResource> webResources(List<GeneratedWebResourceBuildItem> staticResources,
+            Set<String> compressMediaTypes, boolean devMode) {
+        final Set<String> redirectPages = staticResources.stream()
+                .filter(GeneratedWebResourceBuildItem::isRedirectPage)
+                .map(GeneratedWebResourceBuildItem::publicPath)
+                .collect(Collectors.toSet());
+        final Map<String, String> preloadLinks;
+        if (devMode) {
+            /* Keep live reload fast */
+            preloadLinks = Map.of();
+        } else {
+            final Map<String, byte[]> siteContent = new HashMap<>();
+            for (GeneratedWebResourceBuildItem r : staticResources) {
+                siteContent.put(r.publicPath(), r.content());
+            }
+            preloadLinks = PreloadLinks.compute(siteContent, redirectPages);
+        }
+        final Map<String, String> canonicalPaths = canonicalPaths(staticResources);
+        final List<WebResource> webResources = new ArrayList<>(staticResources.size());
+        for (GeneratedWebResourceBuildItem r : staticResources) {
+            webResources.add(WebResource.of(webResources.size(), r.publicPath(), canonicalPaths.get(r.publicPath()),
+                    r.contentHash(), r.content().length, redirectPages.contains(r.publicPath()), compressMediaTypes,
+                    preloadLinks.get(r.publicPath())));
+        }
+        return webResources;
+    }
+
+    @BuildStep
+    @Record(RUNTIME_INIT)
+    public void micrometerMetrics(
+            Optional<AntoraRouteTableBuildItem> routeTable,
+            Optional<MetricsCapabilityBuildItem> metricsCapability,
+            AntoraMicrometerRecorder recorder,
+            BuildProducer<AntoraMetricsBuildItem> metrics) {
+        if (routeTable.isPresent()
+                && metricsCapability.map(m -> m.metricsSupported(MetricsFactory.MICROMETER)).orElse(false)) {
+            metrics.produce(new AntoraMetricsBuildItem(recorder.createMetrics()));
+        }
+    }
+
     @BuildStep
     @Record(RUNTIME_INIT)
     public void runtimeInit(
             LaunchModeBuildItem launchMode,
             List<GeneratedWebResourceBuildItem> staticResources,
+            Optional<AntoraRouteTableBuildItem> routeTable,
+            Optional<AntoraMetricsBuildItem> micrometerMetrics,
             WebBundlerResourceRecorder recorder,
             CurateOutcomeBuildItem curateOutcome,
             OutputTargetBuildItem outputTarget,
+            CoreVertxBuildItem vertx,
+            ExecutorBuildItem executor,
+            ShutdownContextBuildItem shutdown,
             BuildProducer<RouteBuildItem> routes) throws IOException {
-        if (!staticResources.isEmpty()) {
+        if (routeTable.isPresent()) {
             String metaInfWeb = launchMode.getLaunchMode().isDevOrTest()
                     ? getBuildDirectory(outputTarget, curateOutcome).resolve(META_INF_ANTORA).toAbsolutePath().toString()
                     : null;
 
-            routes.produce(RouteBuildItem.builder().orderedRoute("/*", DEFAULT_ROUTE_ORDER)
-                    .handler(recorder.createHandler(metaInfWeb,
-                            staticResources.stream().map(GeneratedWebResourceBuildItem::publicPath)
-                                    .collect(Collectors.toSet()),
-                            launchMode.getLaunchMode() == LaunchMode.DEVELOPMENT))
-                    .build());
+            final RuntimeValue<AntoraMetrics> metrics = micrometerMetrics.map(AntoraMetricsBuildItem::getMetrics)
+                    .orElseGet(recorder::noopMetrics);
+
+            final Handler<RoutingContext> handler = recorder.createHandler(metaInfWeb, routeTable.get().getRouteTable(),
+                    metrics, vertx.getVertx(), executor.getExecutorProxy(), shutdown,
+                    launchMode.getLaunchMode() == LaunchMode.DEVELOPMENT);
+            for (String routePath : routePaths(
+                    staticResources.stream().map(GeneratedWebResourceBuildItem::publicPath).toList())) {
+                routes.produce(RouteBuildItem.builder().orderedRoute(routePath, DEFAULT_ROUTE_ORDER)
+                        .handler(handler)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Computes the routes to register the Antora handler on, so that requests outside of the site, such as REST
+     * calls, never enter the handler: a {@code /my-component/*} route for each top level directory, an exact route for
+     * each file in the root of the site and {@code /} for the root index page.
+     *
+     * @param publicPaths the site-relative paths of the resources of the site
+     * @return the route paths sorted alphabetically or just {@code /*} if some top level name cannot be used in a
+     *         route path literally
+     */
+    static Set<String> routePaths(Collection<String> publicPaths) {
+        final Set<String> result = new TreeSet<>();
+        for (String path : publicPaths) {
+            final int slashPos = path.indexOf('/', 1);
+            final String name = path.substring(1, slashPos < 0 ? path.length() : slashPos);
+            if (!ROUTE_SEGMENT_PATTERN.matcher(name).matches()) {
+                LOGGER.debugf("Cannot route Antora path %s by prefix, registering /* instead", path);
+                return Set.of("/*");
+            }
+            if (slashPos < 0) {
+                result.add("/");
+                result.add(path);
+            } else {
+                result.add("/" + name + "/*");
+            }
         }
+        return result;
     }
 
     public static Path getBuildDirectory(OutputTargetBuildItem outputTarget, CurateOutcomeBuildItem curateOutcomeBuildItem) {
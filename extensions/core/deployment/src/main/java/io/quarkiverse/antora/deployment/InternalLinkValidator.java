@@ -0,0 +1,230 @@
+package io.quarkiverse.antora.deployment;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.jboss.logging.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+
+/**
+ * Validates relative links and their {@code #fragments} between the pages of a generated Antora site.
+ * Everything happens in memory, no HTTP requests are performed and external links are not checked.
+ */
+class InternalLinkValidator {
+    private static final Logger log = Logger.getLogger(InternalLinkValidator.class);
+    private static final Pattern SCHEME_PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.\\-]*:.*");
+    private static final String INDEX_HTML = "index.html";
+
+    private InternalLinkValidator() {
+    }
+
+    /**
+     * @param resources the content of the generated site by site-relative path, such as {@code /my-comp/dev/index.html}
+     * @return a {@link List} of {@link BrokenLink}s sorted by page and line number; never {@code null}
+     */
+    static List<BrokenLink> validate(Map<String, byte[]> resources) {
+        final Map<String, HtmlPage> pages = new TreeMap<>();
+        for (Entry<String, byte[]> en : resources.entrySet()) {
+            if (en.getKey().endsWith(".html")) {
+                pages.put(en.getKey(), HtmlPage.parse(en.getKey(), en.getValue()));
+            }
+        }
+
+        final List<BrokenLink> result = new ArrayList<>();
+        for (HtmlPage page : pages.values()) {
+            for (HtmlLink link : page.links) {
+                final String href = link.href;
+                if (href.isEmpty() || href.equals("#") || href.startsWith("//") || SCHEME_PATTERN.matcher(href).matches()) {
+                    /* Nothing to check or external */
+                    continue;
+                }
+                final int hashPos = href.indexOf('#');
+                final String fragment = hashPos >= 0 && hashPos < href.length() - 1 ? href.substring(hashPos + 1) : null;
+                String path = hashPos >= 0 ? href.substring(0, hashPos) : href;
+                final int queryPos = path.indexOf('?');
+                if (queryPos >= 0) {
+                    path = path.substring(0, queryPos);
+                }
+
+                final String target;
+                if (path.isEmpty()) {
+                    target = page.path;
+                } else {
+                    final String resolved = resolve(page.path, decode(path));
+                    if (resolved == null) {
+                        log.debugf("Not validating %s on %s: it points outside of the site", href, page.path);
+                        continue;
+                    }
+                    target = findResource(resources, resolved);
+                    if (target == null) {
+                        result.add(new BrokenLink(page.path, link.line, href, "Could not find " + resolved));
+                        continue;
+                    }
+                }
+
+                if (fragment != null) {
+                    final HtmlPage targetPage = pages.get(target);
+                    if (targetPage != null && !targetPage.hasAnchor(decode(fragment))) {
+                        result.add(new BrokenLink(page.path, link.line, href,
+                                "Could not find #" + fragment + " in " + target));
+                    }
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    static String findResource(Map<String, byte[]> resources, String resolved) {
+        if (resolved.endsWith("/")) {
+            final String index = resolved + INDEX_HTML;
+            return resources.containsKey(index) ? index : null;
+        }
+        if (resources.containsKey(resolved)) {
+            return resolved;
+        }
+        /* A directory link without the trailing slash */
+        final String index = resolved + "/" + INDEX_HTML;
+        return resources.containsKey(index) ? index : null;
+    }
+
+    /**
+     * @param basePath the site-relative path of the page containing the link
+     * @param path the path part of the link
+     * @return a normalized site-relative path or {@code null} if the given {@code path} points outside of the site
+     */
+    static String resolve(String basePath, String path) {
+        final Deque<String> segments = new ArrayDeque<>();
+        if (!path.startsWith("/")) {
+            final String baseDir = basePath.substring(0, basePath.lastIndexOf('/') + 1);
+            for (String segment : baseDir.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.addLast(segment);
+                }
+            }
+        }
+        final String[] pathSegments = path.split("/", -1);
+        for (int i = 0; i < pathSegments.length; i++) {
+            final String segment = pathSegments[i];
+            if (segment.equals("..")) {
+                if (segments.isEmpty()) {
+                    return null;
+                }
+                segments.removeLast();
+            } else if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.addLast(segment);
+            }
+        }
+        final StringBuilder result = new StringBuilder();
+        for (String segment : segments) {
+            result.append('/').append(segment);
+        }
+        final String lastSegment = pathSegments[pathSegments.length - 1];
+        if (lastSegment.isEmpty() || lastSegment.equals(".") || lastSegment.equals("..")) {
+            /* A directory */
+            result.append('/');
+        }
+        return result.toString();
+    }
+
+    static String decode(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    /**
+     * Formats the given {@code brokenLinks} into a human readable report.
+     *
+     * @param brokenLinks the {@link BrokenLink}s to format
+     * @return a human readable report
+     */
+    static String report(List<BrokenLink> brokenLinks) {
+        final StringBuilder sb = new StringBuilder("Found ")
+                .append(brokenLinks.size())
+                .append(" broken internal link")
+                .append(brokenLinks.size() == 1 ? "" : "s")
+                .append(" in the generated Antora site:");
+        String lastPage = null;
+        for (BrokenLink brokenLink : brokenLinks) {
+            if (!brokenLink.page.equals(lastPage)) {
+                sb.append("\n - ").append(brokenLink.page);
+                lastPage = brokenLink.page;
+            }
+            sb.append("\n     - line ").append(brokenLink.line).append(": ").append(brokenLink.href)
+                    .append("\n         - ").append(brokenLink.message);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A broken link found in a generated HTML page.
+     *
+     * @param page the site-relative path of the page containing the broken link
+     * @param line the line number in the HTML page
+     * @param href the value of the {@code href} attribute
+     * @param message describes the problem
+     */
+    record BrokenLink(String page, int line, String href, String message) implements Comparable<BrokenLink> {
+
+        @Override
+        public int compareTo(BrokenLink other) {
+            final int cmp = page.compareTo(other.page);
+            if (cmp != 0) {
+                return cmp;
+            }
+            return Integer.compare(line, other.line);
+        }
+
+        @Override
+        public String toString() {
+            return page + ":" + line + ": " + href + ": " + message;
+        }
+    }
+
+    record HtmlLink(String href, int line) {
+    }
+
+    record HtmlPage(String path, List<HtmlLink> links, Set<String> anchors) {
+
+        static HtmlPage parse(String path, byte[] content) {
+            final Document doc = Jsoup.parse(new String(content, StandardCharsets.UTF_8), "",
+                    Parser.htmlParser().setTrackPosition(true));
+            final List<HtmlLink> links = new ArrayList<>();
+            for (Element a : doc.select("a[href]")) {
+                links.add(new HtmlLink(a.attr("href").trim(), a.sourceRange().start().lineNumber()));
+            }
+            final Set<String> anchors = new HashSet<>();
+            for (Element el : doc.select("[id]")) {
+                anchors.add(el.id());
+            }
+            for (Element el : doc.select("a[name]")) {
+                anchors.add(el.attr("name"));
+            }
+            return new HtmlPage(path, links, anchors);
+        }
+
+        boolean hasAnchor(String fragment) {
+            return anchors.contains(fragment);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.quarkiverse.antora.deployment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import io.quarkiverse.antora.WebResource;
+
+/**
+ * Computes the values of {@code Link: rel=preload} headers for the HTML pages of a generated Antora site, so that
+ * browsers can start fetching the stylesheets, scripts and fonts before they parse the page.
+ */
+class PreloadLinks {
+    /** The max. number of resources to preload per page */
+    static final int MAX_LINKS = 8;
+    private static final Pattern SCHEME_PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.\\-]*:.*");
+    private static final Pattern FONT_URL_PATTERN = Pattern
+            .compile("url\\(\\s*['\"]?([^'\"()?#]+\\.woff2)(?:[?#][^'\")]*)?['\"]?\\s*\\)");
+
+    private PreloadLinks() {
+    }
+
+    /**
+     * @param resources the content of the generated site by site-relative path, such as {@code /my-comp/dev/index.html}
+     * @param redirectPages site-relative paths of pages redirecting to other pages; no links are computed for them
+     * @return {@code Link} header values by site-relative path of the HTML page; pages without any local stylesheets,
+     *         scripts or fonts are not contained
+     */
+    static Map<String, String> compute(Map<String, byte[]> resources, Set<String> redirectPages) {
+        final Map<String, List<String>> fontsByStylesheet = new HashMap<>();
+        final Map<String, String> result = new TreeMap<>();
+        for (Entry<String, byte[]> en : resources.entrySet()) {
+            final String pagePath = en.getKey();
+            if (!pagePath.endsWith(".html") || redirectPages.contains(pagePath)) {
+                continue;
+            }
+            final Document doc = Jsoup.parse(new String(en.getValue(), StandardCharsets.UTF_8));
+            final Set<String> links = new LinkedHashSet<>();
+            final List<String> fonts = new ArrayList<>();
+            for (Element link : doc.select("link[rel=stylesheet][href]")) {
+                final String href = link.attr("href").trim();
+                final String stylesheet = resolveLocal(resources, pagePath, href);
+                if (stylesheet != null) {
+                    links.add("<" + href + ">; rel=preload; as=style");
+                    for (String font : fontsByStylesheet.computeIfAbsent(stylesheet, k -> fonts(resources, k))) {
+                        fonts.add("<" + relativize(WebResource.encodeURI(pagePath), WebResource.encodeURI(font))
+                                + ">; rel=preload; as=font; type=\"font/woff2\"; crossorigin");
+                    }
+                }
+            }
+            for (Element script : doc.select("script[src]:not([async]):not([defer])")) {
+                final String src = script.attr("src").trim();
+                if (resolveLocal(resources, pagePath, src) != null) {
+                    links.add("<" + src + ">; rel=preload; as=script");
+                }
+            }
+            links.addAll(fonts);
+            if (!links.isEmpty()) {
+                result.put(pagePath, String.join(", ", links.stream().limit(MAX_LINKS).toList()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return site-relative paths of the WOFF2 fonts referenced from the given stylesheet
+     */
+    static List<String> fonts(Map<String, byte[]> resources, String stylesheetPath) {
+        final List<String> result = new ArrayList<>();
+        final Matcher m = FONT_URL_PATTERN.matcher(new String(resources.get(stylesheetPath), StandardCharsets.UTF_8));
+        while (m.find()) {
+            final String font = resolveLocal(resources, stylesheetPath, m.group(1).trim());
+            if (font != null && !result.contains(font)) {
+                result.add(font);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the site-relative path of an existing resource or {@code null} if {@code url} is external or does not point
+     *         to any resource of the site
+     */
+    static String resolveLocal(Map<String, byte[]> resources, String basePath, String url) {
+        if (url.isEmpty() || url.startsWith("//") || SCHEME_PATTERN.matcher(url).matches()) {
+            return null;
+        }
+        String path = url;
+        final int endPos = indexOfAny(path, '?', '#');
+        if (endPos >= 0) {
+            path = path.substring(0, endPos);
+        }
+        final String resolved = InternalLinkValidator.resolve(basePath, InternalLinkValidator.decode(path));
+        return resolved != null && resources.containsKey(resolved) ? resolved : null;
+    }
+
+    /**
+     * @param basePath the site-relative path of a page
+     * @param targetPath the site-relative path of some other resource
+     * @return a relative reference to {@code targetPath} that resolves properly against {@code basePath}
+     */
+    static String relativize(String basePath, String targetPath) {
+        final String[] base = basePath.substring(1).split("/");
+        final String[] target = targetPath.substring(1).split("/");
+        /* The last segment of basePath is the page itself */
+        int common = 0;
+        while (common < base.length - 1 && common < target.length - 1 && base[common].equals(target[common])) {
+            common++;
+        }
+        final StringBuilder result = new StringBuilder();
+        for (int i = common; i < base.length - 1; i++) {
+            result.append("../");
+        }
+        for (int i = common; i < target.length; i++) {
+            if (i > common) {
+                result.append('/');
+            }
+            result.append(target[i]);
+        }
+        return result.toString();
+    }
+
+    private static int indexOfAny(String s, char c1, char c2) {
+        final int i1 = s.indexOf(c1);
+        final int i2 = s.indexOf(c2);
+        if (i1 < 0) {
+            return i2;
+        }
+        return i2 < 0 ? i1 : Math.min(i1, i2);
+    }
+}
@@ -0,0 +1,100 @@
+package io.quarkiverse.antora.deployment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.antora.PathClass;
+import io.quarkiverse.antora.RouteTable;
+
+public class GeneratedWebResourcesProcessorTest {
+
+    @Test
+    void canonicalPaths() {
+        final List<GeneratedWebResourceBuildItem> resources = List.of(
+                resource("/comp/2.0/_images/logo.png", "logo"),
+                resource("/comp/1.0/_images/logo.png", "logo"),
+                resource("/comp/2.0/index.html", "2.0"),
+                resource("/comp/1.0/index.html", "1.0"),
+                resource("/other/1.0/_images/logo.png", "logo"));
+
+        Assertions.assertThat(GeneratedWebResourcesProcessor.canonicalPaths(resources)).isEqualTo(Map.of(
+                "/comp/2.0/_images/logo.png", "/comp/1.0/_images/logo.png",
+                "/comp/1.0/_images/logo.png", "/comp/1.0/_images/logo.png",
+                "/comp/2.0/index.html", "/comp/2.0/index.html",
+                "/comp/1.0/index.html", "/comp/1.0/index.html",
+                "/other/1.0/_images/logo.png", "/comp/1.0/_images/logo.png"));
+    }
+
+    @Test
+    void routePaths() {
+        Assertions.assertThat(GeneratedWebResourcesProcessor.routePaths(List.of(
+                "/index.html",
+                "/404.html",
+                "/_/css/site.css",
+                "/comp/dev/index.html",
+                "/comp/1.0/index.html",
+                "/other/index.html")))
+                .containsExactly("/", "/404.html", "/_/*", "/comp/*", "/index.html", "/other/*");
+
+        Assertions.assertThat(GeneratedWebResourcesProcessor.routePaths(List.of(
+                "/index.html",
+                "/my:comp/dev/index.html")))
+                .containsExactly("/*");
+    }
+
+    @Test
+    void routeTable() {
+        final List<GeneratedWebResourceBuildItem> site = List.of(
+                resource("/index.html", "<meta http-equiv=\"refresh\" content=\"0; url=comp/dev/index.html\">"),
+                resource("/comp/dev/index.html", "dev"),
+                resource("/comp/dev/my page.html", "my page"),
+                resource("/comp/dev/_images/logo.png", "logo"),
+                resource("/comp/1.0/_images/logo.png", "logo"),
+                resource("/comp/dev/sub/index.html", "sub"),
+                resource("/_/css/site.css", "body {}"));
+        final RouteTable routes = new RouteTable(
+                GeneratedWebResourcesProcessor.webResources(site, Set.of("text/html"), true))
+                .withIndexAliases("index.html");
+
+        /* The root directory */
+        Assertions.assertThat(routes.get("/").getPath()).isEqualTo("/index.html");
+        Assertions.assertThat(routes.get("/").getPathClass()).isEqualTo(PathClass.REDIRECT);
+        Assertions.assertThat(routes.get("/index.html")).isSameAs(routes.get("/"));
+
+        /* Directory indexes */
+        Assertions.assertThat(routes.get("/comp/dev/").getPath()).isEqualTo("/comp/dev/index.html");
+        Assertions.assertThat(routes.get("/comp/dev/index.html")).isSameAs(routes.get("/comp/dev/"));
+        Assertions.assertThat(routes.get("/comp/dev/sub/").getPath()).isEqualTo("/comp/dev/sub/index.html");
+        Assertions.assertThat(routes.get("/comp/dev/").isCompressible()).isTrue();
+        /* Without the trailing slash, relative links would resolve against the parent directory */
+        Assertions.assertThat(routes.get("/comp/dev")).isNull();
+        /* No index page */
+        Assertions.assertThat(routes.get("/comp/dev/_images/")).isNull();
+        Assertions.assertThat(routes.get("/comp/")).isNull();
+
+        /* Request paths are URI-encoded */
+        Assertions.assertThat(routes.get("/comp/dev/my%20page.html").getPath()).isEqualTo("/comp/dev/my page.html");
+        Assertions.assertThat(routes.get("/comp/dev/my page.html")).isNull();
+
+        /* Duplicate content is stored under its canonical path only */
+        Assertions.assertThat(routes.get("/comp/dev/_images/logo.png").getResourcePath())
+                .isEqualTo("/comp/1.0/_images/logo.png");
+        Assertions.assertThat(routes.get("/comp/dev/_images/logo.png").isCompressible()).isFalse();
+
+        Assertions.assertThat(routes.get("/comp/dev/no-such-page.html")).isNull();
+        Assertions.assertThat(routes.resources()).hasSize(site.size());
+        for (int i = 0; i < site.size(); i++) {
+            Assertions.assertThat(routes.resources().get(i).getIndex()).isEqualTo(i);
+            Assertions.assertThat(routes.resources().get(i).getPath()).isEqualTo(site.get(i).publicPath());
+        }
+    }
+
+    static GeneratedWebResourceBuildItem resource(String publicPath, String content) {
+        return new GeneratedWebResourceBuildItem(publicPath, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+package io.quarkiverse.antora.deployment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.antora.deployment.InternalLinkValidator.BrokenLink;
+
+public class InternalLinkValidatorTest {
+
+    @Test
+    void resolve() {
+        Assertions.assertThat(InternalLinkValidator.resolve("/comp/dev/index.html", "page.html"))
+                .isEqualTo("/comp/dev/page.html");
+        Assertions.assertThat(InternalLinkValidator.resolve("/comp/dev/index.html", "../1.0/page.html"))
+                .isEqualTo("/comp/1.0/page.html");
+        Assertions.assertThat(InternalLinkValidator.resolve("/comp/dev/index.html", "./"))
+                .isEqualTo("/comp/dev/");
+        Assertions.assertThat(InternalLinkValidator.resolve("/comp/dev/index.html", "/_/css/site.css"))
+                .isEqualTo("/_/css/site.css");
+        Assertions.assertThat(InternalLinkValidator.resolve("/comp/dev/index.html", "../../../outside.html"))
+                .isNull();
+    }
+
+    @Test
+    void validate() {
+        final Map<String, byte[]> site = new LinkedHashMap<>();
+        put(site, "/comp/dev/index.html", """
+                <!DOCTYPE html>
+                <html>
+                <body>
+                  <h2 id="intro">Intro</h2>
+                  <a href="page.html">Page</a>
+                  <a href="page.html#details">Details</a>
+                  <a href="#intro">Intro</a>
+                  <a href="https://quarkus.io/fake-page">External</a>
+                  <a href="missing.html">Missing</a>
+                  <a href="page.html#missing">Missing fragment</a>
+                  <a href="../../_/img/logo.svg">Logo</a>
+                </body>
+                </html>
+                """);
+        put(site, "/comp/dev/page.html", """
+                <!DOCTYPE html>
+                <html>
+                <body>
+                  <a name="details"></a>
+                  <a href="./">Home</a>
+                  <a href="#nowhere">Nowhere</a>
+                </body>
+                </html>
+                """);
+        put(site, "/_/img/logo.svg", "<svg/>");
+
+        final List<BrokenLink> brokenLinks = InternalLinkValidator.validate(site);
+        Assertions.assertThat(brokenLinks).extracting(BrokenLink::toString).containsExactly(
+                "/comp/dev/index.html:9: missing.html: Could not find /comp/dev/missing.html",
+                "/comp/dev/index.html:10: page.html#missing: Could not find #missing in /comp/dev/page.html",
+                "/comp/dev/page.html:6: #nowhere: Could not find #nowhere in /comp/dev/page.html");
+    }
+
+    static void put(Map<String, byte[]> site, String path, String content) {
+        site.put(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package io.quarkiverse.antora.deployment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PreloadLinksTest {
+
+    @Test
+    void relativize() {
+        Assertions.assertThat(PreloadLinks.relativize("/comp/dev/index.html", "/_/font/roboto.woff2"))
+                .isEqualTo("../../_/font/roboto.woff2");
+        Assertions.assertThat(PreloadLinks.relativize("/comp/dev/index.html", "/comp/dev/_images/img.png"))
+                .isEqualTo("_images/img.png");
+        Assertions.assertThat(PreloadLinks.relativize("/index.html", "/_/css/site.css"))
+                .isEqualTo("_/css/site.css");
+    }
+
+    @Test
+    void compute() {
+        final Map<String, byte[]> site = new LinkedHashMap<>();
+        InternalLinkValidatorTest.put(site, "/comp/dev/index.html", """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                  <link rel="stylesheet" href="../../_/css/site.css">
+                  <link rel="stylesheet" href="https://cdn.example.com/external.css">
+                </head>
+                <body>
+                  <script id="site-script" src="../../_/js/site.js" data-ui-root-path="../../_"></script>
+                  <script async src="../../_/js/vendor/highlight.js"></script>
+                </body>
+                </html>
+                """);
+        InternalLinkValidatorTest.put(site, "/comp/dev/redirect.html", """
+                <!DOCTYPE html>
+                <meta http-equiv="refresh" content="0; url=index.html">
+                <link rel="stylesheet" href="../../_/css/site.css">
+                """);
+        InternalLinkValidatorTest.put(site, "/_/css/site.css", """
+                @font-face { font-family: "Roboto"; src: url(../font/roboto-latin-400-normal.woff2) format("woff2"),
+                  url(../font/roboto-latin-400-normal.woff) format("woff"); }
+                @font-face { font-family: "Missing"; src: url('../font/missing.woff2') format("woff2"); }
+                """);
+        InternalLinkValidatorTest.put(site, "/_/font/roboto-latin-400-normal.woff2", "");
+        InternalLinkValidatorTest.put(site, "/_/font/roboto-latin-400-normal.woff", "");
+        InternalLinkValidatorTest.put(site, "/_/js/site.js", "");
+        InternalLinkValidatorTest.put(site, "/_/js/vendor/highlight.js", "");
+
+        final Map<String, String> links = PreloadLinks.compute(site, Set.of("/comp/dev/redirect.html"));
+        Assertions.assertThat(links).containsOnlyKeys("/comp/dev/index.html");
+        Assertions.assertThat(links.get("/comp/dev/index.html")).isEqualTo(
+                "<../../_/css/site.css>; rel=preload; as=style, "
+                        + "<../../_/js/site.js>; rel=preload; as=script, "
+                        + "<../../_/font/roboto-latin-400-normal.woff2>; rel=preload; as=font; type=\"font/woff2\"; "
+                        + "crossorigin");
+    }
+}
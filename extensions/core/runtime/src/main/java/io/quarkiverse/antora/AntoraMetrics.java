@@ -0,0 +1,46 @@
+package io.quarkiverse.antora;
+
+import java.util.Locale;
+
+/**
+ * Records the metrics of serving the site. All tag dimensions are bounded.
+ */
+public interface AntoraMetrics {
+
+    /** Does not record anything */
+    AntoraMetrics NOOP = (pathClass, outcome, compressed, bytes, durationNanos) -> {
+    };
+
+    /**
+     * @param pathClass the {@link PathClass} of the requested resource
+     * @param outcome how the request was served
+     * @param compressed {@code true} if the response was sent with a {@code Content-Encoding} other than
+     *        {@code identity}
+     * @param bytes the number of body bytes written before compression
+     * @param durationNanos the time from receiving the request until the response was ended in nanoseconds
+     */
+    void record(PathClass pathClass, Outcome outcome, boolean compressed, long bytes, long durationNanos);
+
+    enum Outcome {
+        /** Served from {@link MemoryResourceStore} */
+        MEMORY,
+        /** Loaded into {@link MemoryResourceStore} on the request */
+        MEMORY_MISS,
+        /** Sent as {@code gzip} straight from the application archive by {@link SiteArchive} */
+        ARCHIVE,
+        /** Sent from disk by {@link LargeAssetCache} */
+        FILE,
+        /** Served by the Vert.x {@code StaticHandler} */
+        STATIC,
+        /** Answered with {@code 304 Not Modified} */
+        NOT_MODIFIED,
+        /** Answered with the {@code 404.html} page of the site and {@code 404 Not Found} */
+        NOT_FOUND;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        public String tag() {
+            return tag;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.quarkiverse.antora;
+
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.annotations.Recorder;
+
+/**
+ * Kept apart from {@link WebBundlerResourceRecorder}, so that no Micrometer classes are referenced unless the Quarkus
+ * Micrometer extension is present.
+ */
+@Recorder
+public class AntoraMicrometerRecorder {
+
+    /**
+     * Must be called only if the Quarkus Micrometer extension is present.
+     *
+     * @return a new {@link AntoraMetrics} registering its meters in the global Micrometer registry
+     */
+    public RuntimeValue<AntoraMetrics> createMetrics() {
+        return new RuntimeValue<>(new MicrometerAntoraMetrics(Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,328 @@
+package io.quarkiverse.antora;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Quarkus Antora runtime configuration options.
+ */
+@ConfigMapping(prefix = "quarkus.antora")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface AntoraRuntimeConfig {
+
+    /**
+     * Serving the site from memory
+     *
+     * @asciidoclet
+     */
+    MemoryStoreConfig memoryStore();
+
+    /**
+     * `Cache-Control` headers
+     *
+     * @asciidoclet
+     */
+    CacheControlConfig cacheControl();
+
+    /**
+     * Serving compressed resources from the application archive
+     *
+     * @asciidoclet
+     */
+    ArchiveConfig archive();
+
+    /**
+     * Serving large resources from disk
+     *
+     * @asciidoclet
+     */
+    LargeAssetsConfig largeAssets();
+
+    /**
+     * Preloading of stylesheets, scripts and fonts
+     *
+     * @asciidoclet
+     */
+    PreloadConfig preload();
+
+    /**
+     * Warming up the serving caches at startup
+     *
+     * @asciidoclet
+     */
+    WarmupConfig warmup();
+
+    /**
+     * Serving the `404.html` page of the site
+     *
+     * @asciidoclet
+     */
+    NotFoundConfig notFound();
+
+    interface MemoryStoreConfig {
+
+        /**
+         * If `true`, the resources of the site will be loaded into off-heap memory at startup and they will be served from
+         * there, without any file system access on the hot path.
+         * The resources not fitting into `quarkus.antora.memory-store.max-size` are loaded on first access, evicting the
+         * least recently used ones.
+         * Ignored in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum amount of off-heap memory occupied by the resources of the site when
+         * `quarkus.antora.memory-store.enabled` is `true`.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("64M")
+        MemorySize maxSize();
+
+        /**
+         * If `true`, nothing is loaded into memory at startup.
+         * Instead, all resources of a component version, such as everything under `/my-component/2.0/`, are loaded on
+         * the first request for any of them and they are evicted again after
+         * `quarkus.antora.memory-store.version-idle-timeout` without requests.
+         * This keeps the memory footprint of sites with many versions proportional to the versions actually being
+         * read.
+         * If `quarkus.antora.warmup.enabled` is `true`, only the hot pages are loaded by the warmup.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean lazyVersions();
+
+        /**
+         * The time after which a component version without requests is evicted from memory when
+         * `quarkus.antora.memory-store.lazy-versions` is `true`.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("30m")
+        Duration versionIdleTimeout();
+    }
+
+    interface ArchiveConfig {
+
+        /**
+         * If `true`, the resources eligible for HTTP compression will be sent to clients accepting `gzip` directly in
+         * the form in which they are stored in the application JAR: the raw deflate data of the JAR entry, framed
+         * as `gzip`, with no decompression by the class loader and no recompression by Vert.x.
+         * The JAR is memory-mapped at startup.
+         * Has no effect in native mode, where the resources are not stored in a JAR, and for resources stored
+         * without compression.
+         * Ignored in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean gzip();
+    }
+
+    interface LargeAssetsConfig {
+
+        /**
+         * If `true`, the resources of the site bigger than `quarkus.antora.large-assets.threshold` will be extracted to
+         * `quarkus.antora.large-assets.directory` at startup and they will be sent from there using zero-copy
+         * `sendfile`, with support for `Range` requests.
+         * Resources eligible for HTTP compression are never served this way.
+         * Ignored in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The minimal size of resources to serve from disk when `quarkus.antora.large-assets.enabled` is `true`.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("1M")
+        MemorySize threshold();
+
+        /**
+         * The directory where to extract the large resources to.
+         * The files are named after the hash of their content, so the directory can be safely shared by subsequent runs
+         * of the application.
+         * If not set, `quarkus-antora` under the directory given by the `java.io.tmpdir` system property will be used.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        Optional<Path> directory();
+    }
+
+    interface PreloadConfig {
+
+        /**
+         * If `true`, HTML pages will be served with a `Link` header announcing their local stylesheets, blocking
+         * scripts and the WOFF2 fonts referenced from the stylesheets, so that browsers can start fetching them
+         * before parsing the page.
+         * The subresources of each page are found at build time.
+         * Ignored in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * If `true` and `quarkus.antora.preload.enabled` is `true`, the `Link` header will additionally be sent in a
+         * `103 Early Hints` interim response before the actual response.
+         * Make sure that all proxies between your application and the browsers can handle `103` responses before
+         * enabling this.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean earlyHints();
+    }
+
+    interface WarmupConfig {
+
+        /**
+         * If `true`, the pages listed in `quarkus.antora.warmup.hot-paths-file` or, if that file does not exist yet, in
+         * the `sitemap.xml` generated by Antora will be loaded into the active serving cache on a thread of the
+         * Quarkus default executor right after startup, so that the first visitors do not pay for
+         * cold reads.
+         * The warmup never delays the readiness of the application: requests arriving in the meantime are served as
+         * usual.
+         * If `quarkus.antora.memory-store.enabled` is `true`, the memory store is filled by the warmup thread too,
+         * the hot pages first, instead of at startup.
+         * Ignored in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * A file listing the site-relative paths of the most requested resources, one per line, the most requested
+         * first.
+         * If set, the number of requests of each resource is counted and the file is rewritten on shutdown, so that
+         * the next run can warm up the resources the actual visitors are interested in.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        Optional<Path> hotPathsFile();
+
+        /**
+         * The maximum number of paths to write to `quarkus.antora.warmup.hot-paths-file`.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("1000")
+        int maxHotPaths();
+    }
+
+    interface NotFoundConfig {
+
+        /**
+         * If `true`, `GET` and `HEAD` requests for unknown paths under any of the top level directories of the site,
+         * such as `/my-component/` or `/_/`, will be answered with the `404.html` page generated by Antora and status
+         * `404`, served from memory.
+         * Requests outside of those directories are passed to the other routes of the application as usual.
+         * Note that when enabled, the routes of the application under the top level directories of the site are not
+         * reachable anymore.
+         * Has no effect if the site contains no `404.html` page.
+         * Ignored in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("false")
+        boolean enabled();
+    }
+
+    interface CacheControlConfig {
+
+        /**
+         * The value of the `Cache-Control` header sent with the resources of the UI bundle (i.e. anything under `/_/`),
+         * images and fonts.
+         * Not sent in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("public, max-age=31536000, immutable")
+        String assets();
+
+        /**
+         * The value of the `Cache-Control` header sent with HTML pages and with all other resources not matching any
+         * other policy.
+         * Not sent in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("public, max-age=60, stale-while-revalidate=600")
+        String pages();
+
+        /**
+         * The value of the `Cache-Control` header sent with the pages redirecting to other pages, such as the ones
+         * Antora generates for page aliases or the `index.html` in the root of the site.
+         * Not sent in dev mode.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @WithDefault("no-store")
+        String redirects();
+
+        /**
+         * Custom `Cache-Control` policies overriding `assets`, `pages` and `redirects` for the matching paths.
+         * The policies are evaluated in the alphabetical order of their names and the first matching one wins.
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        @ConfigDocMapKey("policy-name")
+        Map<String, CacheControlPolicyConfig> policies();
+    }
+
+    interface CacheControlPolicyConfig {
+
+        /**
+         * A regular expression matched against the site-relative path of a resource, such as
+         * `/my-component/dev/.*`
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        String pathPattern();
+
+        /**
+         * The value of the `Cache-Control` header to send with the resources matching `path-pattern`
+         *
+         * @asciidoclet
+         * @since 3.33.3
+         */
+        String value();
+    }
+}
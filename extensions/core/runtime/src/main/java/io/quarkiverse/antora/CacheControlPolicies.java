@@ -0,0 +1,57 @@
+package io.quarkiverse.antora;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Selects the {@code Cache-Control} header value for the resources of the site based on
+ * {@link AntoraRuntimeConfig.CacheControlConfig}.
+ */
+class CacheControlPolicies {
+
+    private final List<Policy> policies;
+    private final Map<PathClass, String> byPathClass;
+
+    CacheControlPolicies(List<Policy> policies, Map<PathClass, String> byPathClass) {
+        this.policies = policies;
+        this.byPathClass = byPathClass;
+    }
+
+    static CacheControlPolicies of(AntoraRuntimeConfig.CacheControlConfig config) {
+        final List<Policy> policies = new ArrayList<>();
+        /* Sort by name to make the order of evaluation predictable */
+        for (Entry<String, AntoraRuntimeConfig.CacheControlPolicyConfig> en : new TreeMap<>(config.policies())
+                .entrySet()) {
+            policies.add(new Policy(Pattern.compile(en.getValue().pathPattern()), en.getValue().value()));
+        }
+        final Map<PathClass, String> byPathClass = new EnumMap<>(PathClass.class);
+        byPathClass.put(PathClass.PAGE, config.pages());
+        byPathClass.put(PathClass.REDIRECT, config.redirects());
+        byPathClass.put(PathClass.ASSET, config.assets());
+        byPathClass.put(PathClass.IMAGE, config.assets());
+        byPathClass.put(PathClass.ATTACHMENT, config.pages());
+        return new CacheControlPolicies(List.copyOf(policies), byPathClass);
+    }
+
+    /**
+     * @param path the site-relative path of a resource
+     * @param pathClass the {@link PathClass} of the resource
+     * @return the value of the {@code Cache-Control} header to send with the given resource
+     */
+    String cacheControl(String path, PathClass pathClass) {
+        for (Policy policy : policies) {
+            if (policy.pathPattern.matcher(path).matches()) {
+                return policy.value;
+            }
+        }
+        return byPathClass.get(pathClass);
+    }
+
+    record Policy(Pattern pathPattern, String value) {
+    }
+}
@@ -0,0 +1,188 @@
+package io.quarkiverse.antora;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.antora.MemoryResourceStore.ResourceLoader;
+
+/**
+ * Finds the resources worth loading into the serving caches before the first request asks for them and keeps track of
+ * the most requested resources across runs.
+ */
+class CacheWarmer {
+    private static final Logger LOG = Logger.getLogger(CacheWarmer.class);
+
+    /** The site-relative path of the sitemap or sitemap index generated by Antora */
+    static final String SITEMAP = "/sitemap.xml";
+    private static final Pattern LOC_PATTERN = Pattern.compile("<loc>\\s*([^<\\s]+)\\s*</loc>");
+
+    private CacheWarmer() {
+    }
+
+    /**
+     * @param routes the {@link RouteTable} to look up the resources in
+     * @param hotPathsFile the file written by {@link #writeHotPaths(Path, RouteTable, AtomicLongArray, int)} in some
+     *        previous run or {@code null}
+     * @param loader the {@link ResourceLoader} to read the sitemap with
+     * @return the resources listed in {@code hotPathsFile} if it exists, otherwise the resources listed in the sitemap
+     */
+    static List<WebResource> hotResources(RouteTable routes, Path hotPathsFile, ResourceLoader loader) {
+        if (hotPathsFile != null && Files.isRegularFile(hotPathsFile)) {
+            try {
+                return readHotPaths(routes, Files.readAllLines(hotPathsFile, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                LOG.warnf(e, "Could not read %s, falling back to %s", hotPathsFile, SITEMAP);
+            }
+        }
+        return sitemap(routes, loader);
+    }
+
+    static List<WebResource> readHotPaths(RouteTable routes, List<String> lines) {
+        final Set<WebResource> result = new LinkedHashSet<>();
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final WebResource resource = routes.get(WebResource.encodeURI(line));
+            if (resource != null) {
+                result.add(resource);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * @return the resources listed in {@link #SITEMAP} and in the sitemaps it refers to, in document order; an empty
+     *         {@link List} if the site has no sitemap
+     */
+    static List<WebResource> sitemap(RouteTable routes, ResourceLoader loader) {
+        final Set<WebResource> result = new LinkedHashSet<>();
+        final WebResource root = routes.get(SITEMAP);
+        if (root == null) {
+            LOG.debugf("No %s found in the Antora site", SITEMAP);
+            return List.of();
+        }
+        final Set<WebResource> visited = new HashSet<>();
+        final Deque<WebResource> sitemaps = new ArrayDeque<>();
+        sitemaps.add(root);
+        while (!sitemaps.isEmpty()) {
+            final WebResource sitemap = sitemaps.poll();
+            if (!visited.add(sitemap)) {
+                continue;
+            }
+            final String xml;
+            try {
+                xml = new String(loader.load(sitemap.getResourcePath()), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                LOG.warnf(e, "Could not read %s", sitemap);
+                continue;
+            }
+            for (String loc : locs(xml)) {
+                final WebResource resource = resolveLoc(routes, loc);
+                if (resource == null) {
+                    continue;
+                }
+                if (resource.getPath().endsWith(".xml")) {
+                    /* An entry of a sitemap index */
+                    sitemaps.add(resource);
+                } else {
+                    result.add(resource);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    static List<String> locs(String xml) {
+        final List<String> result = new ArrayList<>();
+        final Matcher m = LOC_PATTERN.matcher(xml);
+        while (m.find()) {
+            result.add(m.group(1).replace("&amp;", "&"));
+        }
+        return result;
+    }
+
+    /**
+     * The URLs in a sitemap are absolute and they start with the {@code site.url} of the Antora playbook, which may
+     * contain a path. Hence we drop leading path segments until we find a matching resource.
+     *
+     * @param routes the {@link RouteTable} to look up the resource in
+     * @param loc the absolute URL of a page
+     * @return the matching {@link WebResource} or {@code null}
+     */
+    static WebResource resolveLoc(RouteTable routes, String loc) {
+        String path;
+        try {
+            path = URI.create(loc).getRawPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        while (path != null && path.startsWith("/")) {
+            final WebResource resource = routes.get(path);
+            if (resource != null) {
+                return resource;
+            }
+            final int slashPos = path.indexOf('/', 1);
+            path = slashPos >= 0 ? path.substring(slashPos) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Writes the site-relative paths of the most requested resources to {@code file}, the most requested first.
+     *
+     * @param file the file to write
+     * @param routes the {@link RouteTable} whose resources were counted
+     * @param hits the number of requests by {@link WebResource#getIndex()}
+     * @param maxPaths the max. number of paths to write
+     */
+    static void writeHotPaths(Path file, RouteTable routes, AtomicLongArray hits, int maxPaths) {
+        final List<WebResource> hot = routes.resources().stream()
+                .filter(r -> hits.get(r.getIndex()) > 0)
+                .sorted(Comparator.comparingLong((WebResource r) -> hits.get(r.getIndex())).reversed())
+                .limit(maxPaths)
+                .toList();
+        if (hot.isEmpty()) {
+            /* Keep the list of some previous run rather than overwriting it with nothing */
+            return;
+        }
+        try {
+            final Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            final Path tmp = Files.createTempFile(dir, "antora-", ".tmp");
+            try {
+                try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                    for (WebResource resource : hot) {
+                        out.write(resource.getPath());
+                        out.write('\n');
+                    }
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            LOG.debugf("Wrote %d hot Antora paths to %s", hot.size(), file);
+        } catch (IOException e) {
+            LOG.warnf(e, "Could not write hot Antora paths to %s", file);
+        }
+    }
+}
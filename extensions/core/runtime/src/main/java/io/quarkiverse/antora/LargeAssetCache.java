@@ -0,0 +1,159 @@
+package io.quarkiverse.antora;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps the big resources of the site on disk so that they can be served using {@code sendfile} without passing
+ * through the JVM heap.
+ */
+class LargeAssetCache {
+    private static final Logger LOG = Logger.getLogger(LargeAssetCache.class);
+
+    /** Absolute paths by {@link WebResource#getIndex()}; {@code null} items for resources not available on disk */
+    private final String[] files;
+
+    private LargeAssetCache(String[] files) {
+        this.files = files;
+    }
+
+    /**
+     * Extracts the resources bigger than {@code threshold} from the class path into {@code cacheDir}, unless they were
+     * extracted there by some previous run already. If {@code directory} is not {@code null}, the resources are served
+     * directly from there and nothing is extracted.
+     *
+     * @param routes the {@link RouteTable} to extract the resources from
+     * @param threshold the minimal size of resources to serve from disk in bytes
+     * @param directory the directory containing the resources or {@code null} if they are stored in the class path
+     * @param cacheDir the directory to extract the resources to
+     * @param classLoader the {@link ClassLoader} to use for loading class path resources
+     * @return a new {@link LargeAssetCache}
+     */
+    static LargeAssetCache create(RouteTable routes, long threshold, String directory, Path cacheDir,
+            ClassLoader classLoader) {
+        final String[] files = new String[routes.resources().size()];
+        int count = 0;
+        for (WebResource resource : routes.resources()) {
+            if (resource.getLength() < threshold || resource.isCompressible()) {
+                /* sendfile cannot be combined with compression */
+                continue;
+            }
+            final Path file = directory != null
+                    ? Path.of(directory).resolve(resource.getPath().substring(1))
+                    : extract(resource, cacheDir, classLoader);
+            files[resource.getIndex()] = file.toAbsolutePath().toString();
+            count++;
+        }
+        LOG.infof("Serving %d Antora resources bigger than %d bytes from %s", count, threshold,
+                directory != null ? directory : cacheDir);
+        return new LargeAssetCache(files);
+    }
+
+    static Path extract(WebResource resource, Path cacheDir, ClassLoader classLoader) {
+        final String path = resource.getResourcePath();
+        final String etag = resource.getEtag();
+        /* Name the files by content hash so that stale files from previous versions of the site are never served */
+        final Path file = cacheDir.resolve(etag.substring(1, etag.length() - 1) + extension(path));
+        try {
+            if (Files.isRegularFile(file) && Files.size(file) == resource.getLength()) {
+                return file;
+            }
+            Files.createDirectories(cacheDir);
+            final String resourceName = WebBundlerResourceHandler.META_INF_ANTORA + path;
+            final Path tmp = Files.createTempFile(cacheDir, "antora-", ".tmp");
+            try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+                if (in == null) {
+                    throw new IOException("Could not find " + resourceName + " in class path");
+                }
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extract Antora resource " + path + " to " + file, e);
+        }
+    }
+
+    static String extension(String path) {
+        final int slashPos = path.lastIndexOf('/');
+        final int dotPos = path.lastIndexOf('.');
+        return dotPos > slashPos ? path.substring(dotPos) : "";
+    }
+
+    /**
+     * @param resource the {@link WebResource} to look up
+     * @return the absolute path of the file containing the given resource or {@code null} if the resource should not be
+     *         served from disk
+     */
+    String file(WebResource resource) {
+        return files[resource.getIndex()];
+    }
+
+    /**
+     * A single byte range requested via the {@code Range} HTTP header.
+     *
+     * @param start the first byte position, inclusive
+     * @param end the last byte position, inclusive
+     */
+    record ByteRange(long start, long end) {
+        /** Returned by {@link #parse(String, long)} for syntactically valid but unsatisfiable ranges */
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        /**
+         * Parses a {@code Range} header value. Only single ranges are supported, multiple ranges are ignored, so that
+         * the whole content is sent.
+         *
+         * @param range the value of a {@code Range} HTTP header
+         * @param length the length of the content
+         * @return a new {@link ByteRange}, {@link #UNSATISFIABLE} or {@code null} if the whole content should be sent
+         */
+        static ByteRange parse(String range, long length) {
+            if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+                return null;
+            }
+            final int dashPos = range.indexOf('-');
+            if (dashPos < 0) {
+                return null;
+            }
+            final String startString = range.substring("bytes=".length(), dashPos).trim();
+            final String endString = range.substring(dashPos + 1).trim();
+            try {
+                if (startString.isEmpty()) {
+                    /* The suffix form: bytes=-500 */
+                    if (endString.isEmpty()) {
+                        return null;
+                    }
+                    final long suffixLength = Long.parseLong(endString);
+                    if (suffixLength <= 0 || length == 0) {
+                        return UNSATISFIABLE;
+                    }
+                    return new ByteRange(Math.max(0, length - suffixLength), length - 1);
+                }
+                final long start = Long.parseLong(startString);
+                final long lastPos = endString.isEmpty() ? Long.MAX_VALUE : Long.parseLong(endString);
+                if (start < 0 || lastPos < start) {
+                    /* Invalid, ignore */
+                    return null;
+                }
+                if (start >= length) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(start, Math.min(lastPos, length - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.quarkiverse.antora;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * An LRU store of site resources kept in read-only off-heap buffers, keyed by {@link WebResource#getResourcePath()},
+ * so that content available under several paths is stored only once.
+ * The {@link Buffer}s are shared by all responses, Vert.x writes a fresh slice of them for each response.
+ * <p>
+ * Lookups do not take any lock: each {@link Entry} just records the time of its last access. The least recently used
+ * entries are found by sorting the entries by that time, which happens only when a new resource has to evict some
+ * old ones. Each sort frees {@link #evictionHeadroom} more than needed, so that the subsequent misses fit without
+ * sorting again until that space is used up.
+ */
+class MemoryResourceStore {
+    private static final Logger LOG = Logger.getLogger(MemoryResourceStore.class);
+
+    private final long maxSize;
+    /** An eighth of {@link #maxSize} */
+    private final long evictionHeadroom;
+    private final ResourceLoader loader;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+    /** Resources bigger than {@link #maxSize} */
+    private final Set<String> tooLarge = ConcurrentHashMap.newKeySet();
+    /** Guards the modifications of {@link #entries} and {@link #size} */
+    private final Object lock = new Object();
+    private volatile long size;
+
+    MemoryResourceStore(long maxSize, ResourceLoader loader) {
+        this.maxSize = maxSize;
+        this.evictionHeadroom = maxSize / 8;
+        this.loader = loader;
+    }
+
+    /**
+     * Loads as many of the given resources as fit into {@link #maxSize}, in the given order.
+     * Unlike {@link #load(String)}, this never evicts any resources loaded before.
+     *
+     * @param resources the resources to load
+     * @return the number of the given {@code resources} available in this store afterwards
+     */
+    int preload(Collection<WebResource> resources) {
+        int count = 0;
+        for (WebResource resource : resources) {
+            final String path = resource.getResourcePath();
+            if (get(path) != null) {
+                count++;
+            } else if (resource.getLength() > maxSize) {
+                tooLarge.add(path);
+            } else if (size() + resource.getLength() <= maxSize && load(path) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Logs the outcome of {@link #preload(Collection)}.
+     */
+    void logPreloaded(int count, int total) {
+        LOG.infof("Loaded %d of %d Antora resources into memory, occupying %d of max. %d bytes", count, total, size(),
+                maxSize);
+    }
+
+    /**
+     * @param path the site-relative path of the resource to look up
+     * @return the cached {@link Buffer} or {@code null} if the resource has not been loaded yet
+     */
+    Buffer get(String path) {
+        final Entry entry = entries.get(path);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry.buffer;
+    }
+
+    /**
+     * @param path the site-relative path of the resource
+     * @return {@code true} if the given resource can never be stored because it is bigger than {@link #maxSize}
+     */
+    boolean isTooLarge(String path) {
+        return tooLarge.contains(path);
+    }
+
+    /**
+     * Loads the given resource, possibly evicting the least recently used ones. Blocking.
+     *
+     * @param path the site-relative path of the resource to load
+     * @return the loaded {@link Buffer} or {@code null} if the resource is bigger than {@link #maxSize}
+     */
+    Buffer load(String path) {
+        final Buffer cached = get(path);
+        if (cached != null) {
+            return cached;
+        }
+        final byte[] bytes;
+        try {
+            bytes = loader.load(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load Antora resource " + path, e);
+        }
+        if (bytes.length > maxSize) {
+            tooLarge.add(path);
+            return null;
+        }
+        final Buffer buffer = directBuffer(bytes);
+        synchronized (lock) {
+            final Buffer concurrentlyLoaded = get(path);
+            if (concurrentlyLoaded != null) {
+                return concurrentlyLoaded;
+            }
+            if (size + bytes.length > maxSize) {
+                evictLeastRecentlyUsed(size + bytes.length - maxSize + evictionHeadroom);
+            }
+            entries.put(path, new Entry(buffer));
+            size += bytes.length;
+        }
+        return buffer;
+    }
+
+    /**
+     * Evicts the least recently used entries until at least the given number of bytes is freed. Must be called under
+     * {@link #lock}.
+     *
+     * @param bytesToFree the number of bytes to free
+     */
+    private void evictLeastRecentlyUsed(long bytesToFree) {
+        /* Snapshot the ages, because the access times keep changing while we sort */
+        final long now = System.nanoTime();
+        final List<Candidate> candidates = new ArrayList<>(entries.size());
+        entries.forEach((path, entry) -> candidates.add(new Candidate(path, entry, now - entry.lastAccessNanos)));
+        candidates.sort(Comparator.comparingLong(Candidate::ageNanos).reversed());
+        long freed = 0;
+        for (Candidate candidate : candidates) {
+            if (freed >= bytesToFree) {
+                break;
+            }
+            entries.remove(candidate.path());
+            freed += candidate.entry().buffer.length();
+        }
+        size -= freed;
+    }
+
+    /**
+     * @param bytes the content to copy
+     * @return a new read-only off-heap {@link Buffer} that can be shared by all responses
+     */
+    static Buffer directBuffer(byte[] bytes) {
+        return Buffer.buffer(Unpooled.unreleasableBuffer(
+                Unpooled.directBuffer(bytes.length, bytes.length).writeBytes(bytes).asReadOnly()));
+    }
+
+    /**
+     * Drops the given resources from this store.
+     *
+     * @param paths the {@link WebResource#getResourcePath()}s of the resources to drop
+     */
+    void evict(Collection<String> paths) {
+        synchronized (lock) {
+            for (String path : paths) {
+                final Entry evicted = entries.remove(path);
+                if (evicted != null) {
+                    size -= evicted.buffer.length();
+                }
+            }
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    private record Candidate(String path, Entry entry, long ageNanos) {
+    }
+
+    /**
+     * A stored resource
+     */
+    static final class Entry {
+        final Buffer buffer;
+        /**
+         * The {@link System#nanoTime()} of the last access; written without synchronization, a lost update only makes
+         * the eviction order slightly less accurate
+         */
+        volatile long lastAccessNanos;
+
+        Entry(Buffer buffer) {
+            this.buffer = buffer;
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Reads the raw content of a site resource.
+     */
+    interface ResourceLoader {
+
+        /**
+         * @param path the site-relative path of the resource to load
+         * @return the content of the resource
+         * @throws IOException if the resource cannot be read
+         */
+        byte[] load(String path) throws IOException;
+
+        /**
+         * @param directory the directory to read the resources from or {@code null} if they should be read from the
+         *        class path
+         * @param classLoader the {@link ClassLoader} to use for reading class path resources
+         * @return a new {@link ResourceLoader}
+         */
+        static ResourceLoader of(String directory, ClassLoader classLoader) {
+            if (directory != null) {
+                final Path dir = Path.of(directory);
+                return path -> Files.readAllBytes(dir.resolve(path.substring(1)));
+            }
+            return path -> {
+                final String resourceName = WebBundlerResourceHandler.META_INF_ANTORA + path;
+                try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+                    if (in == null) {
+                        throw new IOException("Could not find " + resourceName + " in class path");
+                    }
+                    return in.readAllBytes();
+                }
+            };
+        }
+    }
+}
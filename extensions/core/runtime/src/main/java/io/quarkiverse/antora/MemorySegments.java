@@ -0,0 +1,197 @@
+package io.quarkiverse.antora;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Splits the resources of the site into segments, one per component version, such as {@code /my-comp/2.0/}, so that
+ * the {@link MemoryResourceStore} holds only the versions actually being read: a segment is loaded on the first
+ * request for any of its resources and evicted once it was not requested for the configured idle timeout.
+ * <p>
+ * Identical content is stored only once, so a {@link WebResource#getResourcePath()} may belong to several segments.
+ * Hence the segments holding each resource path are counted and a path is evicted only together with the last of
+ * them.
+ */
+class MemorySegments {
+    private static final Logger LOG = Logger.getLogger(MemorySegments.class);
+
+    private static final int UNLOADED = 0;
+    private static final int LOADING = 1;
+    private static final int LOADED = 2;
+
+    private final MemoryResourceStore store;
+    private final long idleTimeoutNanos;
+    private final String[] names;
+    /** The storable resources by segment */
+    private final List<List<WebResource>> resources;
+    /** Segment indexes by {@link WebResource#getIndex()}; {@code -1} for resources not stored in memory */
+    private final int[] segmentByResource;
+    private final AtomicIntegerArray states;
+    /** {@link System#nanoTime()} of the last request by segment */
+    private final AtomicLongArray lastAccess;
+    private final AtomicLong nextSweep;
+    /** The distinct {@link WebResource#getResourcePath()}s of all segments */
+    private final String[] paths;
+    /** Indexes into {@link #paths} by segment */
+    private final int[][] pathsBySegment;
+    /** The number of segments holding each of the {@link #paths}; guarded by {@code this} */
+    private final int[] references;
+
+    /**
+     * @param store the {@link MemoryResourceStore} to load the segments into
+     * @param routes the {@link RouteTable} of the site
+     * @param storable the resources that may be stored in memory
+     * @param idleTimeoutNanos the time after which a segment without requests is evicted in nanoseconds
+     */
+    MemorySegments(MemoryResourceStore store, RouteTable routes, List<WebResource> storable, long idleTimeoutNanos) {
+        this.store = store;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        final Map<String, List<WebResource>> bySegment = new LinkedHashMap<>();
+        for (WebResource resource : storable) {
+            bySegment.computeIfAbsent(segment(resource.getPath()), k -> new ArrayList<>()).add(resource);
+        }
+        this.names = bySegment.keySet().toArray(new String[0]);
+        this.resources = List.copyOf(bySegment.values());
+        this.segmentByResource = new int[routes.resources().size()];
+        Arrays.fill(segmentByResource, -1);
+        for (int i = 0; i < resources.size(); i++) {
+            for (WebResource resource : resources.get(i)) {
+                segmentByResource[resource.getIndex()] = i;
+            }
+        }
+        this.states = new AtomicIntegerArray(names.length);
+        this.lastAccess = new AtomicLongArray(names.length);
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepInterval());
+        final Map<String, Integer> pathIndexes = new HashMap<>();
+        this.pathsBySegment = new int[names.length][];
+        for (int i = 0; i < resources.size(); i++) {
+            pathsBySegment[i] = resources.get(i).stream()
+                    .mapToInt(resource -> pathIndexes.computeIfAbsent(resource.getResourcePath(), k -> pathIndexes.size()))
+                    .distinct()
+                    .toArray();
+        }
+        this.paths = new String[pathIndexes.size()];
+        pathIndexes.forEach((path, index) -> paths[index] = path);
+        this.references = new int[paths.length];
+        LOG.infof("Loading %d Antora segments into memory on demand, evicting them after %d s without requests",
+                names.length, idleTimeoutNanos / 1_000_000_000L);
+    }
+
+    /**
+     * @param path the site-relative path of a resource
+     * @return the segment of the given resource: {@code /_/} for the UI bundle, {@code /my-comp/2.0/} for the
+     *         resources of a component version, {@code /my-comp/} for pages in the root of a component and {@code /}
+     *         for the files in the root of the site
+     */
+    static String segment(String path) {
+        final int first = path.indexOf('/', 1);
+        if (first < 0) {
+            return "/";
+        }
+        if (path.startsWith("/_/")) {
+            return "/_/";
+        }
+        final int second = path.indexOf('/', first + 1);
+        return path.substring(0, (second < 0 ? first : second) + 1);
+    }
+
+    /**
+     * Records a request for the given resource.
+     *
+     * @param resource the requested {@link WebResource}
+     * @param now the current {@link System#nanoTime()}
+     * @return the index of the segment of the given {@code resource} if the caller must {@link #load(int)} it,
+     *         otherwise {@code -1}
+     */
+    int touch(WebResource resource, long now) {
+        final int segment = segmentByResource[resource.getIndex()];
+        if (segment < 0) {
+            return -1;
+        }
+        lastAccess.set(segment, now);
+        return states.compareAndSet(segment, UNLOADED, LOADING) ? segment : -1;
+    }
+
+    /**
+     * Loads all resources of the given segment that fit into the {@link MemoryResourceStore}. Blocking.
+     *
+     * @param segment the index returned by {@link #touch(WebResource, long)}
+     */
+    void load(int segment) {
+        synchronized (this) {
+            /* Claim the paths first, so that a concurrent eviction of another segment does not drop them */
+            for (int path : pathsBySegment[segment]) {
+                references[path]++;
+            }
+        }
+        try {
+            final List<WebResource> segmentResources = resources.get(segment);
+            final int count = store.preload(segmentResources);
+            LOG.debugf("Loaded %d of %d resources of Antora segment %s into memory", count, segmentResources.size(),
+                    names[segment]);
+            states.compareAndSet(segment, LOADING, LOADED);
+        } catch (RuntimeException e) {
+            release(segment);
+            states.compareAndSet(segment, LOADING, UNLOADED);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking, so that it can be called for every request.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return {@code true} if the caller must {@link #evictIdle(long)}; at most once per a quarter of the idle timeout
+     */
+    boolean claimSweep(long now) {
+        final long due = nextSweep.get();
+        return now - due >= 0 && nextSweep.compareAndSet(due, now + sweepInterval());
+    }
+
+    /**
+     * Evicts the segments without requests for longer than the idle timeout. Blocking, because the
+     * {@link MemoryResourceStore} may be busy loading some other resources.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    void evictIdle(long now) {
+        for (int segment = 0; segment < names.length; segment++) {
+            if (now - lastAccess.get(segment) > idleTimeoutNanos && states.compareAndSet(segment, LOADED, UNLOADED)) {
+                final int evicted = release(segment);
+                LOG.debugf("Evicted idle Antora segment %s from memory, %d of its resources are still used by other"
+                        + " segments", names[segment], pathsBySegment[segment].length - evicted);
+            }
+        }
+    }
+
+    /**
+     * Drops the claims of the given segment and evicts the resource paths not held by any other segment.
+     *
+     * @param segment the segment to release
+     * @return the number of evicted resource paths
+     */
+    private synchronized int release(int segment) {
+        final List<String> unused = new ArrayList<>();
+        for (int path : pathsBySegment[segment]) {
+            if (--references[path] == 0) {
+                unused.add(paths[path]);
+            }
+        }
+        /* Still under the lock, so that no other segment can claim the paths before they are gone */
+        store.evict(unused);
+        return unused.size();
+    }
+
+    private long sweepInterval() {
+        return idleTimeoutNanos / 4;
+    }
+}
@@ -0,0 +1,65 @@
+package io.quarkiverse.antora;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link AntoraMetrics} backed by Micrometer. All meters are registered upfront, so that recording does not involve
+ * any meter lookups.
+ * <p>
+ * Must not be loaded unless the Quarkus Micrometer extension is present.
+ */
+class MicrometerAntoraMetrics implements AntoraMetrics {
+    private static final PathClass[] PATH_CLASSES = PathClass.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    /** Indexed by path class, outcome and compressed (0 or 1) */
+    private final Counter[][][] requests;
+    /** Indexed by path class and outcome */
+    private final Timer[][] durations;
+    /** Indexed by path class */
+    private final Counter[] bytes;
+
+    MicrometerAntoraMetrics(MeterRegistry registry) {
+        requests = new Counter[PATH_CLASSES.length][OUTCOMES.length][2];
+        durations = new Timer[PATH_CLASSES.length][OUTCOMES.length];
+        bytes = new Counter[PATH_CLASSES.length];
+        for (PathClass pathClass : PATH_CLASSES) {
+            final String pathClassTag = pathClass.name().toLowerCase(Locale.ROOT);
+            for (Outcome outcome : OUTCOMES) {
+                for (int compressed = 0; compressed < 2; compressed++) {
+                    requests[pathClass.ordinal()][outcome.ordinal()][compressed] = Counter.builder("antora.requests")
+                            .description("The number of requests served by Quarkus Antora")
+                            .tag("path.class", pathClassTag)
+                            .tag("outcome", outcome.tag())
+                            .tag("encoding", compressed == 1 ? "compressed" : "identity")
+                            .register(registry);
+                }
+                durations[pathClass.ordinal()][outcome.ordinal()] = Timer.builder("antora.request.duration")
+                        .description("The time from receiving a request until ending the response")
+                        .tag("path.class", pathClassTag)
+                        .tag("outcome", outcome.tag())
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            bytes[pathClass.ordinal()] = Counter.builder("antora.response.bytes")
+                    .description("The number of body bytes served by Quarkus Antora before compression")
+                    .baseUnit("bytes")
+                    .tag("path.class", pathClassTag)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void record(PathClass pathClass, Outcome outcome, boolean compressed, long bytesWritten, long durationNanos) {
+        requests[pathClass.ordinal()][outcome.ordinal()][compressed ? 1 : 0].increment();
+        durations[pathClass.ordinal()][outcome.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+        if (bytesWritten > 0) {
+            bytes[pathClass.ordinal()].increment(bytesWritten);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.quarkiverse.antora;
+
+import io.vertx.core.http.impl.MimeMapping;
+
+/**
+ * A coarse classification of the resources of an Antora site used for selecting a {@code Cache-Control} policy and
+ * for tagging metrics.
+ */
+public enum PathClass {
+    /** HTML pages and any other resources not falling into any of the other classes */
+    PAGE,
+    /** Pages generated by Antora for page aliases, redirecting to some other page */
+    REDIRECT,
+    /** Resources of the UI bundle, such as stylesheets, scripts and fonts */
+    ASSET,
+    /** Images outside of the UI bundle */
+    IMAGE,
+    /** Files stored in the {@code attachments} family of an Antora module */
+    ATTACHMENT;
+
+    /** The default output directory of the Antora UI bundle */
+    private static final String UI_OUTPUT_DIR = "/_/";
+    /** The output directory of the {@code attachments} family */
+    private static final String ATTACHMENTS_DIR = "/_attachments/";
+
+    /**
+     * @param path the site-relative path of a resource
+     * @param redirect {@code true} if the resource is a redirect page
+     * @return the {@link PathClass} of the given resource
+     */
+    public static PathClass of(String path, boolean redirect) {
+        if (redirect) {
+            return REDIRECT;
+        }
+        if (path.startsWith(UI_OUTPUT_DIR)) {
+            return ASSET;
+        }
+        if (path.contains(ATTACHMENTS_DIR)) {
+            return ATTACHMENT;
+        }
+        final String contentType = MimeMapping.getMimeTypeForFilename(path);
+        if (contentType != null) {
+            if (contentType.startsWith("image/")) {
+                return IMAGE;
+            }
+            if (contentType.startsWith("font/")) {
+                return ASSET;
+            }
+        }
+        return PAGE;
+    }
+}
@@ -0,0 +1,66 @@
+package io.quarkiverse.antora;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable mapping from URI-encoded request paths to {@link WebResource}s.
+ */
+public final class RouteTable {
+
+    private final List<WebResource> resources;
+    private final Map<String, WebResource> byRequestPath;
+
+    /**
+     * @param resources the {@link WebResource}s, each of them at the position given by {@link WebResource#getIndex()}
+     */
+    public RouteTable(List<WebResource> resources) {
+        this(List.copyOf(resources), index(resources));
+    }
+
+    private RouteTable(List<WebResource> resources, Map<String, WebResource> byRequestPath) {
+        this.resources = resources;
+        this.byRequestPath = byRequestPath;
+    }
+
+    private static Map<String, WebResource> index(List<WebResource> resources) {
+        final Map<String, WebResource> result = new HashMap<>(resources.size() * 2);
+        for (WebResource resource : resources) {
+            result.put(resource.getRequestPath(), resource);
+        }
+        return result;
+    }
+
+    /**
+     * @param indexPage the file name of the page to serve for directory requests, such as {@code index.html}
+     * @return a new {@link RouteTable} where each directory containing {@code indexPage} is additionally reachable via
+     *         its path with a trailing slash
+     */
+    public RouteTable withIndexAliases(String indexPage) {
+        final String suffix = "/" + WebResource.encodeURI(indexPage);
+        final Map<String, WebResource> result = new HashMap<>(byRequestPath);
+        for (WebResource resource : resources) {
+            final String requestPath = resource.getRequestPath();
+            if (requestPath.endsWith(suffix)) {
+                result.put(requestPath.substring(0, requestPath.length() - suffix.length() + 1), resource);
+            }
+        }
+        return new RouteTable(resources, result);
+    }
+
+    /**
+     * @param requestPath the URI-encoded request path
+     * @return the matching {@link WebResource} or {@code null}
+     */
+    public WebResource get(String requestPath) {
+        return byRequestPath.get(requestPath);
+    }
+
+    /**
+     * @return an immutable {@link List} of all {@link WebResource}s sorted by {@link WebResource#getIndex()}
+     */
+    public List<WebResource> resources() {
+        return resources;
+    }
+}
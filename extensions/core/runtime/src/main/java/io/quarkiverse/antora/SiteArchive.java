@@ -0,0 +1,266 @@
+package io.quarkiverse.antora;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Serves the compressible resources of the site as {@code gzip} directly from the deflated entries of the archive
+ * containing them, typically the application JAR. A ZIP entry compressed with the deflate method is a raw deflate
+ * stream and the central directory of the archive contains its CRC-32 and uncompressed size, so adding the 10-byte
+ * {@code gzip} header and the 8-byte trailer is enough to get a valid {@code gzip} member. Hence the content is
+ * neither inflated by the class loader nor deflated again by Vert.x for every response.
+ * <p>
+ * The archive is memory-mapped, so the served bytes never pass through the JVM heap.
+ */
+class SiteArchive {
+    private static final Logger LOG = Logger.getLogger(SiteArchive.class);
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int LOC_SIGNATURE = 0x04034b50;
+    private static final int EOCD_LENGTH = 22;
+    private static final int CEN_LENGTH = 46;
+    private static final int LOC_LENGTH = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xffff;
+    private static final int METHOD_DEFLATED = 8;
+    private static final long ZIP64_MAGIC = 0xffffffffL;
+
+    /** ID1, ID2, CM = deflate, FLG = none, MTIME = none, XFL = none, OS = unknown */
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    /** {@code gzip} bodies by {@link WebResource#getIndex()}; {@code null} items for resources not available */
+    private final Buffer[] gzipBodies;
+    /** The entity tags of the {@link #gzipBodies} by {@link WebResource#getIndex()} */
+    private final String[] gzipEtags;
+
+    private SiteArchive(Buffer[] gzipBodies, String[] gzipEtags) {
+        this.gzipBodies = gzipBodies;
+        this.gzipEtags = gzipEtags;
+    }
+
+    /**
+     * A deflated entry of a ZIP archive.
+     *
+     * @param crc the CRC-32 of the uncompressed content
+     * @param compressedSize the length of the raw deflate data
+     * @param size the length of the uncompressed content
+     * @param localHeaderOffset the position of the local file header of the entry in the archive
+     */
+    record Entry(int crc, long compressedSize, long size, long localHeaderOffset) {
+    }
+
+    /**
+     * Finds the archive containing the class path resources of the site and maps it into memory.
+     *
+     * @param routes the {@link RouteTable} of the site
+     * @param classLoader the {@link ClassLoader} to look up the resources with
+     * @return a new {@link SiteArchive} or {@code null} if the resources are not stored in a local archive, e.g. in a
+     *         native image
+     */
+    static SiteArchive open(RouteTable routes, ClassLoader classLoader) {
+        final WebResource probe = routes.resources().stream().filter(WebResource::isCompressible).findFirst()
+                .orElse(null);
+        if (probe == null) {
+            return null;
+        }
+        final Path archive = archiveOf(
+                classLoader.getResource(WebBundlerResourceHandler.META_INF_ANTORA + probe.getResourcePath()));
+        if (archive == null) {
+            LOG.infof("Antora resources are not stored in a local archive, serving gzip from the archive is disabled");
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                LOG.infof("%s is too big to be memory-mapped, serving gzip from the archive is disabled", archive);
+                return null;
+            }
+            final ByteBuffer zip = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            final Map<String, Entry> entries = readCentralDirectory(zip,
+                    WebBundlerResourceHandler.META_INF_ANTORA + "/");
+            final Buffer[] gzipBodies = new Buffer[routes.resources().size()];
+            final String[] gzipEtags = new String[gzipBodies.length];
+            int count = 0;
+            for (WebResource resource : routes.resources()) {
+                final Entry entry = entries.get(WebBundlerResourceHandler.META_INF_ANTORA + resource.getResourcePath());
+                if (resource.isCompressible() && entry != null && entry.size() == resource.getLength()) {
+                    gzipBodies[resource.getIndex()] = Buffer.buffer(Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(
+                            gzipParts(zip, entry)).asReadOnly()));
+                    gzipEtags[resource.getIndex()] = gzipEtag(resource.getEtag());
+                    count++;
+                }
+            }
+            LOG.infof("Serving %d Antora resources as gzip directly from %s", count, archive);
+            return count > 0 ? new SiteArchive(gzipBodies, gzipEtags) : null;
+        } catch (IOException | RuntimeException e) {
+            LOG.warnf(e, "Could not index %s, serving gzip from the archive is disabled", archive);
+            return null;
+        }
+    }
+
+    /**
+     * @param url the URL of a class path resource
+     * @return the path of the local archive containing the resource or {@code null}
+     */
+    static Path archiveOf(URL url) {
+        if (url == null || !"jar".equals(url.getProtocol())) {
+            return null;
+        }
+        final String path = url.getPath();
+        final int separatorPos = path.indexOf("!/");
+        if (!path.startsWith("file:") || separatorPos < 0) {
+            return null;
+        }
+        try {
+            return Path.of(new URI(path.substring(0, separatorPos)));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param zip the whole ZIP archive in little endian byte order
+     * @param prefix the prefix of the names of the entries to return
+     * @return the deflated entries whose names start with {@code prefix} by name
+     * @throws IOException if the archive is malformed or if it is a ZIP64 archive
+     */
+    static Map<String, Entry> readCentralDirectory(ByteBuffer zip, String prefix) throws IOException {
+        final int eocd = findEndOfCentralDirectory(zip);
+        final int entryCount = zip.getShort(eocd + 10) & 0xffff;
+        final long cenOffset = zip.getInt(eocd + 16) & ZIP64_MAGIC;
+        if (cenOffset == ZIP64_MAGIC || entryCount == 0xffff) {
+            throw new IOException("ZIP64 archives are not supported");
+        }
+        final Map<String, Entry> result = new HashMap<>();
+        int pos = (int) cenOffset;
+        for (int i = 0; i < entryCount; i++) {
+            if (zip.getInt(pos) != CEN_SIGNATURE) {
+                throw new IOException("Invalid central directory header at " + pos);
+            }
+            final int method = zip.getShort(pos + 10) & 0xffff;
+            final int crc = zip.getInt(pos + 16);
+            final long compressedSize = zip.getInt(pos + 20) & ZIP64_MAGIC;
+            final long size = zip.getInt(pos + 24) & ZIP64_MAGIC;
+            final int nameLength = zip.getShort(pos + 28) & 0xffff;
+            final int extraLength = zip.getShort(pos + 30) & 0xffff;
+            final int commentLength = zip.getShort(pos + 32) & 0xffff;
+            final long localHeaderOffset = zip.getInt(pos + 42) & ZIP64_MAGIC;
+            final byte[] name = new byte[nameLength];
+            zip.get(pos + CEN_LENGTH, name);
+            final String entryName = new String(name, StandardCharsets.UTF_8);
+            if (method == METHOD_DEFLATED && entryName.startsWith(prefix) && compressedSize != ZIP64_MAGIC
+                    && size != ZIP64_MAGIC && localHeaderOffset != ZIP64_MAGIC) {
+                result.put(entryName, new Entry(crc, compressedSize, size, localHeaderOffset));
+            }
+            pos += CEN_LENGTH + nameLength + extraLength + commentLength;
+        }
+        return result;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer zip) throws IOException {
+        final int end = zip.limit() - EOCD_LENGTH;
+        final int start = Math.max(0, end - MAX_COMMENT_LENGTH);
+        for (int pos = end; pos >= start; pos--) {
+            if (zip.getInt(pos) == EOCD_SIGNATURE) {
+                return pos;
+            }
+        }
+        throw new IOException("End of central directory not found");
+    }
+
+    /**
+     * @param zip the whole ZIP archive in little endian byte order
+     * @param entry the {@link Entry} to frame
+     * @return the {@code gzip} header, the raw deflate data of the given {@code entry} (a view, not a copy) and the
+     *         {@code gzip} trailer
+     * @throws IOException if the local file header of the entry is malformed
+     */
+    static ByteBuffer[] gzipParts(ByteBuffer zip, Entry entry) throws IOException {
+        final int loc = (int) entry.localHeaderOffset();
+        if (zip.getInt(loc) != LOC_SIGNATURE) {
+            throw new IOException("Invalid local file header at " + loc);
+        }
+        /* The lengths of the name and extra field may differ from the ones in the central directory */
+        final int dataStart = loc + LOC_LENGTH + (zip.getShort(loc + 26) & 0xffff) + (zip.getShort(loc + 28) & 0xffff);
+        final ByteBuffer data = zip.slice(dataStart, (int) entry.compressedSize());
+        final ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(entry.crc())
+                .putInt((int) entry.size())
+                .flip();
+        return new ByteBuffer[] { ByteBuffer.wrap(GZIP_HEADER).asReadOnlyBuffer(), data, trailer };
+    }
+
+    /**
+     * @param resource the {@link WebResource} to look up
+     * @return the {@code gzip} encoded content of the given resource or {@code null} if not available
+     */
+    Buffer gzipBody(WebResource resource) {
+        return gzipBodies[resource.getIndex()];
+    }
+
+    /**
+     * @param resource the {@link WebResource} to look up
+     * @return the entity tag of {@link #gzipBody(WebResource)} or {@code null} if not available
+     */
+    String gzipEtag(WebResource resource) {
+        return gzipEtags[resource.getIndex()];
+    }
+
+    /**
+     * A strong validator must not be shared by two different encodings of a resource (RFC 9110, Section 8.8.1),
+     * otherwise caches and {@code If-Range} could mix up their bodies.
+     *
+     * @param etag the strong entity tag of the identity encoding, including the quotes
+     * @return the entity tag of the {@code gzip} encoding
+     */
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    /**
+     * @param acceptEncoding the value of an {@code Accept-Encoding} request header
+     * @return {@code true} if the client accepts {@code gzip}
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final int paramPos = coding.indexOf(';');
+            final String name = (paramPos >= 0 ? coding.substring(0, paramPos) : coding).trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return paramPos < 0 || !isZeroQuality(coding.substring(paramPos + 1));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String params) {
+        for (String param : params.split(";")) {
+            param = param.trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim()) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
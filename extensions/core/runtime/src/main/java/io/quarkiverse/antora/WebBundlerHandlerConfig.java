@@ -1,6 +1,7 @@
 package io.quarkiverse.antora;
 
-import java.util.Set;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Adapted from
@@ -9,13 +10,53 @@ import java.util.Set;
 public class WebBundlerHandlerConfig {
     public final String indexPage;
     public final boolean devMode;
-    public final Set<String> compressMediaTypes;
+    /** The max. number of bytes to serve from memory; {@code 0} if serving from memory is disabled */
+    public final long memoryStoreMaxSize;
+    /**
+     * The time after which an idle component version is evicted from memory; {@code null} if all resources are loaded
+     * into memory at startup
+     */
+    public final Duration versionIdleTimeout;
+    /** If {@code true}, compressible resources are served as gzip directly from the application archive */
+    public final boolean archiveGzip;
+    /** The min. size of resources to send from disk; {@code 0} if sending from disk is disabled */
+    public final long largeAssetThreshold;
+    /** The directory where to extract the large resources to */
+    public final Path largeAssetDirectory;
+    /** If {@code true}, {@link WebResource#getPreloadLinks()} are sent in {@code Link} headers */
+    public final boolean preload;
+    /** If {@code true}, {@link WebResource#getPreloadLinks()} are sent in {@code 103 Early Hints} interim responses */
+    public final boolean earlyHints;
+    /** If {@code true}, the serving caches are warmed up on a background thread at startup */
+    public final boolean warmup;
+    /** The file to read the hot paths from and to write them to at shutdown; {@code null} if hot paths are not recorded */
+    public final Path hotPathsFile;
+    /** The max. number of paths to write to {@link #hotPathsFile} */
+    public final int maxHotPaths;
+    /** If {@code true}, unknown paths under the prefixes of the site are answered with the {@code 404.html} page */
+    public final boolean notFoundPage;
+    /** {@code null} if no {@code Cache-Control} headers should be sent */
+    final CacheControlPolicies cacheControlPolicies;
 
-    public WebBundlerHandlerConfig(String indexPage, boolean devMode,
-            Set<String> compressMediaTypes) {
+    WebBundlerHandlerConfig(String indexPage, boolean devMode,
+            long memoryStoreMaxSize, Duration versionIdleTimeout, boolean archiveGzip, long largeAssetThreshold,
+            Path largeAssetDirectory,
+            boolean preload, boolean earlyHints, boolean warmup, Path hotPathsFile, int maxHotPaths,
+            boolean notFoundPage, CacheControlPolicies cacheControlPolicies) {
         this.indexPage = indexPage;
         this.devMode = devMode;
-        this.compressMediaTypes = compressMediaTypes;
+        this.memoryStoreMaxSize = memoryStoreMaxSize;
+        this.versionIdleTimeout = versionIdleTimeout;
+        this.archiveGzip = archiveGzip;
+        this.largeAssetThreshold = largeAssetThreshold;
+        this.largeAssetDirectory = largeAssetDirectory;
+        this.preload = preload;
+        this.earlyHints = earlyHints;
+        this.warmup = warmup;
+        this.hotPathsFile = hotPathsFile;
+        this.maxHotPaths = maxHotPaths;
+        this.notFoundPage = notFoundPage;
+        this.cacheControlPolicies = cacheControlPolicies;
     }
 
 }
@@ -1,18 +1,30 @@
 package io.quarkiverse.antora;
 
-import java.net.URLEncoder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.antora.AntoraMetrics.Outcome;
+import io.quarkiverse.antora.LargeAssetCache.ByteRange;
 import io.quarkus.runtime.util.StringUtil;
 import io.quarkus.vertx.http.runtime.RouteConstants;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.http.impl.MimeMapping;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.FileSystemAccess;
 import io.vertx.ext.web.handler.StaticHandler;
@@ -28,25 +40,186 @@ public class WebBundlerResourceHandler implements Handler<RoutingContext> {
 
     public static final String META_INF_ANTORA = "META-INF/antora";
     public static int DEFAULT_ROUTE_ORDER = RouteConstants.ROUTE_ORDER_BEFORE_DEFAULT + 50;
+    private static final String LINK = "Link";
+    private static final String GZIP = "gzip";
+    private static final String NO_STORE = "no-store";
+    /** The site-relative path of the page Antora generates for unknown paths */
+    static final String NOT_FOUND_PAGE = "/404.html";
 
     private final WebBundlerHandlerConfig config;
-    private final Set<String> webResources;
+    private final RouteTable routes;
+    /** {@code Cache-Control} header values by {@link WebResource#getIndex()}; {@code null} items mean no header */
+    private final String[] cacheControls;
     private final Handler<RoutingContext> handler;
     private final ClassLoader currentClassLoader;
+    /** {@code true} if the resources are served from the class path rather than from a directory */
+    private final boolean classpath;
+    /** {@code null} if serving from memory is disabled */
+    private final MemoryResourceStore memoryStore;
+    /** {@code null} unless the versions of the site are loaded into {@link #memoryStore} on demand */
+    private final MemorySegments memorySegments;
+    /** {@code null} if serving gzip directly from the application archive is disabled or not possible */
+    private final SiteArchive siteArchive;
+    /** {@code null} if serving large resources from disk is disabled */
+    private final LargeAssetCache largeAssets;
+    private final AntoraMetrics metrics;
+    /** Requests by {@link WebResource#getIndex()}; {@code null} if hot paths are not recorded */
+    private final AtomicLongArray hits;
+    /** The {@code 404.html} page of the site; {@code null} if unknown paths should be passed to the next route */
+    private final WebResource notFoundPage;
+    private final Buffer notFoundBody;
+    /** The top level directories of the site, such as {@code /my-component/}, URI-encoded */
+    private final Set<String> sitePrefixes;
 
-    WebBundlerResourceHandler(final WebBundlerHandlerConfig config, final String directory, final Set<String> webResources) {
+    /**
+     * @param config the {@link WebBundlerHandlerConfig}
+     * @param directory the directory to serve the resources from or {@code null} if they should be served from the class
+     *        path
+     * @param routes the {@link RouteTable} recorded at build time
+     * @param metrics the {@link AntoraMetrics} to record the metrics of serving the site
+     * @param vertx the {@link Vertx} instance whose file cache should be warmed up
+     * @param executor the {@link Executor} to warm up the serving caches on
+     */
+    WebBundlerResourceHandler(final WebBundlerHandlerConfig config, final String directory, final RouteTable routes,
+            final AntoraMetrics metrics, final Supplier<Vertx> vertx, final Executor executor) {
         this.config = config;
-        this.webResources = encodeUIResources(webResources);
+        this.metrics = metrics;
         handler = createStaticHandler(config, directory);
+        this.routes = routes.withIndexAliases(config.indexPage);
+        this.cacheControls = cacheControls(config, routes);
+        this.hits = config.hotPathsFile != null ? new AtomicLongArray(routes.resources().size()) : null;
         currentClassLoader = Thread.currentThread().getContextClassLoader();
+        classpath = directory == null;
+        largeAssets = config.largeAssetThreshold > 0
+                ? LargeAssetCache.create(routes, config.largeAssetThreshold, directory, config.largeAssetDirectory,
+                        currentClassLoader)
+                : null;
+        siteArchive = config.archiveGzip && classpath ? SiteArchive.open(routes, currentClassLoader) : null;
+        final MemoryResourceStore.ResourceLoader loader = MemoryResourceStore.ResourceLoader.of(directory,
+                currentClassLoader);
+        if (config.memoryStoreMaxSize > 0) {
+            memoryStore = new MemoryResourceStore(config.memoryStoreMaxSize, loader);
+            if (config.versionIdleTimeout != null) {
+                memorySegments = new MemorySegments(memoryStore, routes, storableResources(routes.resources()),
+                        config.versionIdleTimeout.toNanos());
+            } else {
+                memorySegments = null;
+                if (!config.warmup) {
+                    final List<WebResource> storable = storableResources(routes.resources());
+                    memoryStore.logPreloaded(memoryStore.preload(storable), storable.size());
+                }
+            }
+        } else {
+            memoryStore = null;
+            memorySegments = null;
+        }
+        notFoundPage = config.notFoundPage ? routes.get(NOT_FOUND_PAGE) : null;
+        notFoundBody = notFoundPage != null ? loadNotFoundPage(loader, notFoundPage) : null;
+        sitePrefixes = sitePrefixes(routes);
+        if (config.warmup) {
+            executor.execute(() -> warmup(loader, directory == null ? vertx : null));
+        }
+    }
+
+    private static Buffer loadNotFoundPage(MemoryResourceStore.ResourceLoader loader, WebResource notFoundPage) {
+        try {
+            return MemoryResourceStore.directBuffer(loader.load(notFoundPage.getResourcePath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load Antora resource " + NOT_FOUND_PAGE, e);
+        }
     }
 
-    private static Set<String> encodeUIResources(Set<String> uiResources) {
-        Set<String> encodedUIResources = new HashSet<>(uiResources.size());
-        for (String uiResource : uiResources) {
-            encodedUIResources.add(encodeURI(uiResource));
+    static Set<String> sitePrefixes(RouteTable routes) {
+        final Set<String> result = new HashSet<>();
+        for (WebResource resource : routes.resources()) {
+            final String requestPath = resource.getRequestPath();
+            final int slashPos = requestPath.indexOf('/', 1);
+            if (slashPos > 0) {
+                result.add(requestPath.substring(0, slashPos + 1));
+            }
         }
-        return encodedUIResources;
+        return Set.copyOf(result);
+    }
+
+    private List<WebResource> storableResources(List<WebResource> resources) {
+        return resources.stream()
+                .filter(r -> largeAssets == null || largeAssets.file(r) == null)
+                .toList();
+    }
+
+    /**
+     * Loads the hot resources into the active serving cache: into {@link #memoryStore} followed by all other resources
+     * if serving from memory is enabled (only the hot ones if the versions are loaded on demand), otherwise into the
+     * file cache of Vert.x used by {@link StaticHandler}.
+     *
+     * @param loader the {@link MemoryResourceStore.ResourceLoader} to read the sitemap with
+     * @param vertx the {@link Vertx} instance whose file cache should be warmed up or {@code null} if the resources are
+     *        served from a directory
+     */
+    private void warmup(MemoryResourceStore.ResourceLoader loader, Supplier<Vertx> vertx) {
+        try {
+            final long start = System.currentTimeMillis();
+            final List<WebResource> hot = CacheWarmer.hotResources(routes, config.hotPathsFile, loader);
+            if (memoryStore != null) {
+                final Set<WebResource> ordered = new LinkedHashSet<>(hot);
+                if (memorySegments == null) {
+                    ordered.addAll(routes.resources());
+                }
+                final List<WebResource> storable = storableResources(new ArrayList<>(ordered));
+                memoryStore.logPreloaded(memoryStore.preload(storable), storable.size());
+            } else if (vertx != null) {
+                for (WebResource resource : storableResources(hot)) {
+                    /* Extracts the class path resource into the file cache, just like StaticHandler does */
+                    vertx.get().fileSystem().propsBlocking(META_INF_ANTORA + resource.getResourcePath());
+                }
+            }
+            LOG.infof("Warmed up %d hot Antora resources in %d ms", hot.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not warm up the Antora resources", e);
+        }
+    }
+
+    /**
+     * Writes the most requested paths to {@link WebBundlerHandlerConfig#hotPathsFile} if they are recorded.
+     */
+    void recordHotPaths() {
+        if (hits != null) {
+            CacheWarmer.writeHotPaths(config.hotPathsFile, routes, hits, config.maxHotPaths);
+        }
+    }
+
+    private static String[] cacheControls(WebBundlerHandlerConfig config, RouteTable routes) {
+        final String[] result = new String[routes.resources().size()];
+        if (config.cacheControlPolicies != null) {
+            for (WebResource resource : routes.resources()) {
+                result[resource.getIndex()] = config.cacheControlPolicies.cacheControl(resource.getPath(),
+                        resource.getPathClass());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param ifNoneMatch the value of an {@code If-None-Match} request header
+     * @param etag the current entity tag of the resource
+     * @param gzipEtag the current entity tag of the {@code gzip} encoding of the resource or {@code null}
+     * @return {@code true} if {@code ifNoneMatch} matches any of the given entity tags using the weak comparison
+     *         required by RFC 9110, Section 13.1.2
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag, String gzipEtag) {
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -56,17 +229,284 @@ public class WebBundlerResourceHandler implements Handler<RoutingContext> {
             return;
         }
         final String path = resolvePath(ctx);
-        final String resourcePath = path.endsWith("/") ? path + config.indexPage : path;
-        LOG.debugf("Antora path hit: '%s'", resourcePath);
-        if (webResources.contains(resourcePath)) {
-            LOG.debugf("Antora resource served: '%s'", resourcePath);
-            compressIfNeeded(config, ctx, resourcePath);
-            handler.handle(ctx);
+        LOG.debugf("Antora path hit: '%s'", path);
+        final WebResource resource = routes.get(path);
+        if (resource != null) {
+            final long start = metrics == AntoraMetrics.NOOP ? 0L : System.nanoTime();
+            if (hits != null) {
+                hits.incrementAndGet(resource.getIndex());
+            }
+            LOG.debugf("Antora resource served: '%s'", resource);
+            final boolean compressesOnTheFly = compressIfNeeded(ctx, resource)
+                    && acceptsCompression(ctx.request().getHeader(HttpHeaders.ACCEPT_ENCODING));
+            final HttpMethod method = ctx.request().method();
+            final Buffer gzipBody = siteArchive != null && method != HttpMethod.OPTIONS ? siteArchive.gzipBody(resource)
+                    : null;
+            final boolean servesGzip = gzipBody != null
+                    && SiteArchive.acceptsGzip(ctx.request().getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (method != HttpMethod.OPTIONS) {
+                final String gzipEtag = gzipBody != null ? siteArchive.gzipEtag(resource) : null;
+                /* The bytes compressed by Vert.x are not the ones the strong entity tag was computed from */
+                ctx.response().putHeader(HttpHeaders.ETAG,
+                        servesGzip ? gzipEtag : compressesOnTheFly ? weakEtag(resource.getEtag()) : resource.getEtag());
+                final String ifNoneMatch = ctx.request().getHeader(HttpHeaders.IF_NONE_MATCH);
+                if (ifNoneMatch != null && etagMatches(ifNoneMatch, resource.getEtag(), gzipEtag)) {
+                    LOG.debugf("Antora resource not modified: '%s'", resource);
+                    writeCachingHeaders(ctx, resource);
+                    if (resource.isCompressible()) {
+                        ctx.response().putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    }
+                    track(ctx, resource, Outcome.NOT_MODIFIED, start);
+                    ctx.response().setStatusCode(304).end();
+                    return;
+                }
+            }
+            if (config.preload && resource.getPreloadLinks() != null && method != HttpMethod.OPTIONS) {
+                writePreloadLinks(ctx, resource);
+            }
+            final String file = largeAssets != null && method != HttpMethod.OPTIONS ? largeAssets.file(resource) : null;
+            if (servesGzip) {
+                track(ctx, resource, Outcome.ARCHIVE, start);
+                writeGzip(ctx, resource, gzipBody);
+            } else if (file != null) {
+                track(ctx, resource, Outcome.FILE, start);
+                sendFile(ctx, resource, file);
+            } else if (memoryStore != null && method != HttpMethod.OPTIONS
+                    && !memoryStore.isTooLarge(resource.getResourcePath())) {
+                serveFromMemory(ctx, resource, start);
+            } else {
+                track(ctx, resource, Outcome.STATIC, start);
+                delegate(ctx, resource);
+            }
+        } else if (notFoundPage != null && ctx.request().method() != HttpMethod.OPTIONS && isNotFound(path)) {
+            LOG.debugf("Antora path not found: '%s'", path);
+            serveNotFound(ctx);
         } else {
             next(currentClassLoader, ctx);
         }
     }
 
+    /**
+     * @param path the URI-encoded request path not matching any {@link WebResource}
+     * @return {@code true} if the given path is under one of the {@link #sitePrefixes}
+     */
+    boolean isNotFound(String path) {
+        final int slashPos = path.indexOf('/', 1);
+        return slashPos >= 0 && sitePrefixes.contains(path.substring(0, slashPos + 1));
+    }
+
+    private void serveNotFound(RoutingContext ctx) {
+        final long start = metrics == AntoraMetrics.NOOP ? 0L : System.nanoTime();
+        compressIfNeeded(ctx, notFoundPage);
+        track(ctx, notFoundPage, Outcome.NOT_FOUND, start);
+        final HttpServerResponse response = ctx.response();
+        response.setStatusCode(404);
+        response.putHeader(HttpHeaders.CONTENT_TYPE, notFoundPage.getContentType());
+        response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        /* Not the policy of the 404.html page itself: the missing path may well exist after the next deployment */
+        response.putHeader(HttpHeaders.CACHE_CONTROL, NO_STORE);
+        writeBody(ctx, notFoundPage, notFoundBody);
+    }
+
+    /**
+     * Records the metrics of the current request once the response is ended.
+     */
+    private void track(RoutingContext ctx, WebResource resource, Outcome outcome, long start) {
+        if (metrics == AntoraMetrics.NOOP) {
+            return;
+        }
+        ctx.addEndHandler(ar -> metrics.record(
+                resource.getPathClass(),
+                outcome,
+                isCompressed(ctx.response().headers().get(HttpHeaders.CONTENT_ENCODING)),
+                ctx.response().bytesWritten(),
+                System.nanoTime() - start));
+    }
+
+    /**
+     * @param contentEncoding the {@code Content-Encoding} of an ended response, as set by this handler or by the
+     *        Vert.x HTTP compression
+     * @return {@code true} if the body was sent in any other encoding than {@code identity}
+     */
+    static boolean isCompressed(String contentEncoding) {
+        return contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity");
+    }
+
+    /**
+     * @param etag a strong entity tag
+     * @return the weak variant of the given {@code etag}, valid for any content encoding of the same resource
+     */
+    static String weakEtag(String etag) {
+        return "W/" + etag;
+    }
+
+    static boolean acceptsCompression(String acceptEncoding) {
+        return acceptEncoding != null
+                && (acceptEncoding.contains("gzip") || acceptEncoding.contains("br") || acceptEncoding.contains("deflate"));
+    }
+
+    private void writePreloadLinks(RoutingContext ctx, WebResource resource) {
+        final String links = resource.getPreloadLinks();
+        if (config.earlyHints) {
+            ctx.response().writeEarlyHints(MultiMap.caseInsensitiveMultiMap().add(LINK, links))
+                    .onFailure(e -> LOG.debugf(e, "Could not send 103 Early Hints for %s", resource));
+        }
+        ctx.response().putHeader(LINK, links);
+    }
+
+    /**
+     * Serves the given {@link WebResource} using {@link StaticHandler}.
+     */
+    private void delegate(RoutingContext ctx, WebResource resource) {
+        if (classpath && ctx.request().method() != HttpMethod.OPTIONS
+                && !resource.getResourcePath().equals(resource.getPath())) {
+            /*
+             * Duplicate content is stored in the class path only once, so StaticHandler would not find it under
+             * the requested path
+             */
+            sendFile(ctx, resource, META_INF_ANTORA + resource.getResourcePath());
+            return;
+        }
+        final String cacheControl = cacheControls[resource.getIndex()];
+        if (cacheControl != null) {
+            /* Override the Cache-Control header set by StaticHandler */
+            ctx.addHeadersEndHandler(v -> ctx.response().headers().set(HttpHeaders.CACHE_CONTROL, cacheControl));
+        }
+        handler.handle(ctx);
+    }
+
+    private void serveFromMemory(RoutingContext ctx, WebResource resource, long start) {
+        if (memorySegments != null) {
+            touchSegment(ctx, resource);
+        }
+        final Buffer body = memoryStore.get(resource.getResourcePath());
+        if (body != null) {
+            track(ctx, resource, Outcome.MEMORY, start);
+            write(ctx, resource, body);
+            return;
+        }
+        /* Evicted or not fitting into the store at startup */
+        ctx.vertx().executeBlocking(() -> memoryStore.load(resource.getResourcePath()), false)
+                .onComplete(ar -> {
+                    if (ar.succeeded() && ar.result() != null) {
+                        track(ctx, resource, Outcome.MEMORY_MISS, start);
+                        write(ctx, resource, ar.result());
+                    } else {
+                        if (ar.failed()) {
+                            LOG.warnf(ar.cause(), "Could not load Antora resource %s into memory", resource);
+                        }
+                        track(ctx, resource, Outcome.STATIC, start);
+                        delegate(ctx, resource);
+                    }
+                });
+    }
+
+    private void touchSegment(RoutingContext ctx, WebResource resource) {
+        final long now = System.nanoTime();
+        final int segment = memorySegments.touch(resource, now);
+        if (segment >= 0) {
+            ctx.vertx().executeBlocking(() -> {
+                memorySegments.load(segment);
+                return null;
+            }, false).onFailure(e -> LOG.warnf(e, "Could not load the Antora segment of %s into memory", resource));
+        }
+        if (memorySegments.claimSweep(now)) {
+            /* Not on the event loop, evicting has to wait for the loads holding the lock of the store */
+            ctx.vertx().executeBlocking(() -> {
+                memorySegments.evictIdle(now);
+                return null;
+            }, false).onFailure(e -> LOG.warnf(e, "Could not evict the idle Antora segments from memory"));
+        }
+    }
+
+    private void write(RoutingContext ctx, WebResource resource, Buffer body) {
+        writeHeaders(ctx, resource);
+        writeBody(ctx, resource, body);
+    }
+
+    private void writeBody(RoutingContext ctx, WebResource resource, Buffer body) {
+        final HttpServerResponse response = ctx.response();
+        if (ctx.request().method() == HttpMethod.HEAD) {
+            response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(resource.getLength()));
+            response.end();
+        } else {
+            response.end(body);
+        }
+    }
+
+    /**
+     * Writes the given {@code gzip} encoded body. Setting the {@code Content-Encoding} header prevents Vert.x from
+     * compressing it once more.
+     */
+    private void writeGzip(RoutingContext ctx, WebResource resource, Buffer body) {
+        final HttpServerResponse response = ctx.response();
+        writeHeaders(ctx, resource);
+        response.putHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (ctx.request().method() == HttpMethod.HEAD) {
+            response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length()));
+            response.end();
+        } else {
+            response.end(body);
+        }
+    }
+
+    /**
+     * Sends the given {@code file} or a part of it if a single byte range was requested via the {@code Range} header.
+     * The {@code file} may also be a class path resource name, Vert.x extracts such resources to its file cache.
+     */
+    private void sendFile(RoutingContext ctx, WebResource resource, String file) {
+        final HttpServerResponse response = ctx.response();
+        writeHeaders(ctx, resource);
+        response.putHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        final long length = resource.getLength();
+        ByteRange range = null;
+        final String rangeHeader = ctx.request().getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            final String ifRange = ctx.request().getHeader(HttpHeaders.IF_RANGE);
+            if (ifRange == null || ifRange.equals(resource.getEtag())) {
+                range = ByteRange.parse(rangeHeader, length);
+            }
+        }
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatusCode(416)
+                    .putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .end();
+            return;
+        }
+        final long offset = range == null ? 0 : range.start();
+        final long count = range == null ? length : range.length();
+        if (range != null) {
+            response.setStatusCode(206)
+                    .putHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + length);
+        }
+        if (ctx.request().method() == HttpMethod.HEAD) {
+            response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(count));
+            response.end();
+        } else {
+            response.sendFile(file, offset, count).onFailure(ctx::fail);
+        }
+    }
+
+    private void writeHeaders(RoutingContext ctx, WebResource resource) {
+        if (resource.getContentType() != null) {
+            ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, resource.getContentType());
+        }
+        writeCachingHeaders(ctx, resource);
+    }
+
+    private void writeCachingHeaders(RoutingContext ctx, WebResource resource) {
+        final String cacheControl = cacheControls[resource.getIndex()];
+        if (cacheControl == null) {
+            return;
+        }
+        final HttpServerResponse response = ctx.response();
+        response.putHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (resource.isCompressible()) {
+            response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
     private static Handler<RoutingContext> createStaticHandler(WebBundlerHandlerConfig config, String directory) {
         LOG.debugf("Static Index: '%s'", config.indexPage);
         if (StringUtil.isNullOrEmpty(config.indexPage)) {
@@ -80,33 +520,6 @@ public class WebBundlerResourceHandler implements Handler<RoutingContext> {
         return staticHandler;
     }
 
-    /**
-     * Duplicate code from OmniFaces project under apache license:
-     * https://github.com/omnifaces/omnifaces/blob/develop/license.txt
-     * <p>
-     * URI-encode the given string using UTF-8. URIs (paths and filenames) have different encoding rules as compared to
-     * URL query string parameters. {@link URLEncoder} is actually only for www (HTML) form based query string parameter
-     * values (as used when a webbrowser submits a HTML form). URI encoding has a lot in common with URL encoding, but
-     * the space has to be %20 and some chars doesn't necessarily need to be encoded.
-     *
-     * @param string The string to be URI-encoded using UTF-8.
-     * @return The given string, URI-encoded using UTF-8, or <code>null</code> if <code>null</code> was given.
-     */
-    private static String encodeURI(String string) {
-        if (string == null) {
-            return null;
-        }
-
-        return URLEncoder.encode(string, StandardCharsets.UTF_8)
-                .replace("+", "%20")
-                .replace("%21", "!")
-                .replace("%27", "'")
-                .replace("%28", "(")
-                .replace("%29", ")")
-                .replace("%2F", "/")
-                .replace("%7E", "~");
-    }
-
     static String resolvePath(RoutingContext ctx) {
         return (ctx.mountPoint() == null) ? ctx.normalizedPath()
                 : ctx.normalizedPath().substring(
@@ -115,22 +528,20 @@ public class WebBundlerResourceHandler implements Handler<RoutingContext> {
                         ctx.mountPoint().endsWith("/") ? ctx.mountPoint().length() - 1 : ctx.mountPoint().length());
     }
 
-    static void compressIfNeeded(WebBundlerHandlerConfig config, RoutingContext ctx, String path) {
-        if (isCompressed(config, path)) {
+    /**
+     * @return {@code true} if HTTP compression is enabled and Vert.x may thus compress the response on the fly
+     */
+    static boolean compressIfNeeded(RoutingContext ctx, WebResource resource) {
+        if (resource.isCompressible()) {
             // VertxHttpRecorder is adding "Content-Encoding: identity" to all requests if
             // compression is enabled.
             // Handlers can remove the "Content-Encoding: identity" header to enable
             // compression.
+            final boolean compressionEnabled = ctx.response().headers().contains(HttpHeaders.CONTENT_ENCODING);
             ctx.response().headers().remove(HttpHeaders.CONTENT_ENCODING);
+            return compressionEnabled;
         }
-    }
-
-    private static boolean isCompressed(WebBundlerHandlerConfig config, String path) {
-        if (config.compressMediaTypes.isEmpty()) {
-            return false;
-        }
-        String contentType = MimeMapping.getMimeTypeForFilename(path);
-        return contentType != null && config.compressMediaTypes.contains(contentType);
+        return false;
     }
 
     static boolean shouldHandleMethod(RoutingContext ctx) {
@@ -1,12 +1,17 @@
 package io.quarkiverse.antora;
 
-import java.util.Set;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
-import io.quarkus.vertx.http.runtime.VertxHttpBuildTimeConfig;
 import io.quarkus.vertx.http.runtime.VertxHttpConfig;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.ext.web.RoutingContext;
 
 /**
@@ -17,28 +22,77 @@ import io.vertx.ext.web.RoutingContext;
 public class WebBundlerResourceRecorder {
 
     private final RuntimeValue<VertxHttpConfig> httpConfiguration;
-    private VertxHttpBuildTimeConfig httpBuildTimeConfig;
+    private final RuntimeValue<AntoraRuntimeConfig> antoraConfig;
 
     public WebBundlerResourceRecorder(RuntimeValue<VertxHttpConfig> httpConfiguration,
-            VertxHttpBuildTimeConfig httpBuildTimeConfig) {
+            RuntimeValue<AntoraRuntimeConfig> antoraConfig) {
         this.httpConfiguration = httpConfiguration;
-        this.httpBuildTimeConfig = httpBuildTimeConfig;
+        this.antoraConfig = antoraConfig;
     }
 
+    /**
+     * @param webResources the {@link WebResource}s computed at build time
+     * @return a new {@link RouteTable}
+     */
+    public RuntimeValue<RouteTable> createRouteTable(List<WebResource> webResources) {
+        return new RuntimeValue<>(new RouteTable(webResources));
+    }
+
+    /**
+     * @return {@link AntoraMetrics#NOOP}
+     */
+    public RuntimeValue<AntoraMetrics> noopMetrics() {
+        return new RuntimeValue<>(AntoraMetrics.NOOP);
+    }
+
+    /**
+     * @param directory the directory to serve the resources from or {@code null} if they should be served from the class
+     *        path
+     * @param routes the {@link RouteTable} created by {@link #createRouteTable(List)}
+     * @param metrics the {@link AntoraMetrics} to record the metrics of serving the site
+     * @param vertx the {@link Vertx} instance serving the site
+     * @param executor the Quarkus default executor to warm up the serving caches on
+     * @param shutdown the {@link ShutdownContext} to record the hot paths of the site on shutdown
+     * @param devMode {@code true} if the application is running in dev mode
+     * @return a new {@link WebBundlerResourceHandler}
+     */
     public Handler<RoutingContext> createHandler(final String directory,
-            final Set<String> webResources, boolean devMode) {
+            final RuntimeValue<RouteTable> routes, final RuntimeValue<AntoraMetrics> metrics, final Supplier<Vertx> vertx,
+            final Executor executor, final ShutdownContext shutdown, boolean devMode) {
 
-        final Set<String> compressMediaTypes;
-        if (httpBuildTimeConfig.enableCompression() && httpBuildTimeConfig.compressMediaTypes().isPresent()) {
-            compressMediaTypes = Set.copyOf(httpBuildTimeConfig.compressMediaTypes().get());
-        } else {
-            compressMediaTypes = Set.of();
-        }
+        final AntoraRuntimeConfig.MemoryStoreConfig memoryStore = antoraConfig.getValue().memoryStore();
+        final long memoryStoreMaxSize = memoryStore.enabled() && !devMode ? memoryStore.maxSize().asLongValue() : 0L;
+        final Duration versionIdleTimeout = memoryStore.lazyVersions() ? memoryStore.versionIdleTimeout() : null;
+        final AntoraRuntimeConfig.LargeAssetsConfig largeAssets = antoraConfig.getValue().largeAssets();
+        final long largeAssetThreshold = largeAssets.enabled() && !devMode ? largeAssets.threshold().asLongValue() : 0L;
+        final Path largeAssetDirectory = largeAssets.directory()
+                .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "quarkus-antora"));
+        final AntoraRuntimeConfig.PreloadConfig preload = antoraConfig.getValue().preload();
+        final AntoraRuntimeConfig.WarmupConfig warmup = antoraConfig.getValue().warmup();
+        final Path hotPathsFile = devMode ? null : warmup.hotPathsFile().orElse(null);
+        final AntoraRuntimeConfig.NotFoundConfig notFound = antoraConfig.getValue().notFound();
+        final CacheControlPolicies cacheControlPolicies = devMode ? null
+                : CacheControlPolicies.of(antoraConfig.getValue().cacheControl());
 
         final var handlerConfig = new WebBundlerHandlerConfig(httpConfiguration.getValue().staticResources().indexPage(),
                 devMode,
-                compressMediaTypes);
-        return new WebBundlerResourceHandler(handlerConfig, directory,
-                webResources);
+                memoryStoreMaxSize,
+                versionIdleTimeout,
+                antoraConfig.getValue().archive().gzip() && !devMode,
+                largeAssetThreshold,
+                largeAssetDirectory,
+                preload.enabled() && !devMode,
+                preload.enabled() && preload.earlyHints() && !devMode,
+                warmup.enabled() && !devMode,
+                hotPathsFile,
+                warmup.maxHotPaths(),
+                notFound.enabled() && !devMode,
+                cacheControlPolicies);
+        final WebBundlerResourceHandler handler = new WebBundlerResourceHandler(handlerConfig, directory,
+                routes.getValue(), metrics.getValue(), vertx, executor);
+        if (hotPathsFile != null) {
+            shutdown.addShutdownTask(handler::recordHotPaths);
+        }
+        return handler;
     }
 }
@@ -0,0 +1,164 @@
+package io.quarkiverse.antora;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import io.quarkus.runtime.annotations.RecordableConstructor;
+import io.vertx.core.http.impl.MimeMapping;
+
+/**
+ * An immutable descriptor of a resource of the generated site, computed at build time so that no MIME type lookups,
+ * URI encoding or hashing are necessary when serving the resource.
+ */
+public final class WebResource {
+    /** The number of hex digits of the SHA-512 content hash to use in entity tags */
+    private static final int ETAG_HASH_LENGTH = 32;
+
+    private final int index;
+    private final String path;
+    private final String resourcePath;
+    private final String requestPath;
+    private final String contentType;
+    private final long length;
+    private final String etag;
+    private final boolean compressible;
+    private final PathClass pathClass;
+    private final String preloadLinks;
+
+    /**
+     * @param index the position of this {@link WebResource} in {@link RouteTable#resources()}
+     * @param path the site-relative path of the resource, not URI-encoded, such as {@code /my-comp/dev/my page.html}
+     * @param resourcePath the site-relative path under which the content is stored; differs from {@code path} if the
+     *        same content is available under several paths
+     * @param requestPath the URI-encoded {@code path}, such as {@code /my-comp/dev/my%20page.html}
+     * @param contentType the value of the {@code Content-Type} header or {@code null} if the type is unknown
+     * @param length the length of the content in bytes
+     * @param etag the strong entity tag, including the quotes
+     * @param compressible {@code true} if the content type is one of {@code quarkus.http.compress-media-types}
+     * @param pathClass the {@link PathClass}
+     * @param preloadLinks the value of the {@code Link} header announcing the subresources to preload or {@code null}
+     */
+    @RecordableConstructor
+    public WebResource(int index, String path, String resourcePath, String requestPath, String contentType, long length,
+            String etag, boolean compressible, PathClass pathClass, String preloadLinks) {
+        this.index = index;
+        this.path = path;
+        this.resourcePath = resourcePath;
+        this.requestPath = requestPath;
+        this.contentType = contentType;
+        this.length = length;
+        this.etag = etag;
+        this.compressible = compressible;
+        this.pathClass = pathClass;
+        this.preloadLinks = preloadLinks;
+    }
+
+    /**
+     * Computes all derived attributes of a resource.
+     *
+     * @param index the position of the new {@link WebResource} in {@link RouteTable#resources()}
+     * @param path the site-relative path of the resource, such as {@code /my-comp/dev/index.html}
+     * @param resourcePath the site-relative path under which the content is stored; differs from {@code path} if the
+     *        same content is available under several paths
+     * @param contentHash the hex encoded hash of the content
+     * @param length the length of the content in bytes
+     * @param redirect {@code true} if the resource is a page redirecting to some other page
+     * @param compressMediaTypes the media types to compress; empty if compression is disabled
+     * @param preloadLinks the value of the {@code Link} header announcing the subresources to preload or {@code null}
+     * @return a new {@link WebResource}
+     */
+    public static WebResource of(int index, String path, String resourcePath, String contentHash, long length,
+            boolean redirect, Set<String> compressMediaTypes, String preloadLinks) {
+        final String mimeType = MimeMapping.getMimeTypeForFilename(path);
+        final String contentType = mimeType != null && mimeType.startsWith("text")
+                ? mimeType + ";charset=" + StandardCharsets.UTF_8.name()
+                : mimeType;
+        final String etag = "\""
+                + (contentHash.length() > ETAG_HASH_LENGTH ? contentHash.substring(0, ETAG_HASH_LENGTH) : contentHash)
+                + "\"";
+        return new WebResource(
+                index,
+                path,
+                resourcePath,
+                encodeURI(path),
+                contentType,
+                length,
+                etag,
+                mimeType != null && compressMediaTypes.contains(mimeType),
+                PathClass.of(path, redirect),
+                preloadLinks);
+    }
+
+    /**
+     * Duplicate code from OmniFaces project under apache license:
+     * https://github.com/omnifaces/omnifaces/blob/develop/license.txt
+     * <p>
+     * URI-encode the given string using UTF-8. URIs (paths and filenames) have different encoding rules as compared to
+     * URL query string parameters. {@link URLEncoder} is actually only for www (HTML) form based query string parameter
+     * values (as used when a webbrowser submits a HTML form). URI encoding has a lot in common with URL encoding, but
+     * the space has to be %20 and some chars doesn't necessarily need to be encoded.
+     *
+     * @param string The string to be URI-encoded using UTF-8.
+     * @return The given string, URI-encoded using UTF-8, or <code>null</code> if <code>null</code> was given.
+     */
+    public static String encodeURI(String string) {
+        if (string == null) {
+            return null;
+        }
+
+        return URLEncoder.encode(string, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("%21", "!")
+                .replace("%27", "'")
+                .replace("%28", "(")
+                .replace("%29", ")")
+                .replace("%2F", "/")
+                .replace("%7E", "~");
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getResourcePath() {
+        return resourcePath;
+    }
+
+    public String getRequestPath() {
+        return requestPath;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean isCompressible() {
+        return compressible;
+    }
+
+    public PathClass getPathClass() {
+        return pathClass;
+    }
+
+    public String getPreloadLinks() {
+        return preloadLinks;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,170 @@
+package io.quarkiverse.antora;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.antora.MemoryResourceStore.ResourceLoader;
+
+public class CacheWarmerTest {
+    /** The sitemap index Antora generates for sites with several components */
+    private static final String SITEMAP_INDEX = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+            <sitemap>
+            <loc>https://example.com/docs/sitemap-comp.xml</loc>
+            </sitemap>
+            <sitemap>
+            <loc>https://example.com/docs/sitemap-other.xml</loc>
+            </sitemap>
+            </sitemapindex>
+            """;
+    private static final String SITEMAP_COMP = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+            <url>
+            <loc>https://example.com/docs/comp/2.0/index.html</loc>
+            <lastmod>2026-10-19T00:00:00.000Z</lastmod>
+            </url>
+            <url>
+            <loc>
+              https://example.com/docs/comp/2.0/my%20page.html
+            </loc>
+            </url>
+            <url>
+            <loc>https://example.com/docs/comp/2.0/removed.html</loc>
+            </url>
+            <url>
+            <loc>https://example.com/docs/comp/2.0/index.html</loc>
+            </url>
+            </urlset>
+            """;
+    /** Refers back to the index, which must not be read twice */
+    private static final String SITEMAP_OTHER = """
+            <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+            <url><loc>https://example.com/docs/other/search.html?q=a&amp;b=c</loc></url>
+            <url><loc>https://example.com/docs/sitemap.xml</loc></url>
+            </urlset>
+            """;
+
+    private static final List<WebResource> RESOURCES = resources(
+            "/sitemap.xml",
+            "/sitemap-comp.xml",
+            "/sitemap-other.xml",
+            "/comp/2.0/index.html",
+            "/comp/2.0/my page.html",
+            "/other/search.html",
+            "/_/css/site.css");
+    private static final ResourceLoader LOADER = loader(Map.of(
+            "/sitemap.xml", SITEMAP_INDEX,
+            "/sitemap-comp.xml", SITEMAP_COMP,
+            "/sitemap-other.xml", SITEMAP_OTHER));
+
+    @Test
+    void sitemap() {
+        final RouteTable routes = new RouteTable(RESOURCES);
+        Assertions.assertThat(paths(CacheWarmer.sitemap(routes, LOADER))).containsExactly(
+                "/comp/2.0/index.html",
+                "/comp/2.0/my page.html",
+                "/other/search.html");
+
+        /* No sitemap at all */
+        final RouteTable noSitemap = new RouteTable(resources("/comp/2.0/index.html"));
+        Assertions.assertThat(CacheWarmer.sitemap(noSitemap, LOADER)).isEmpty();
+    }
+
+    @Test
+    void locs() {
+        Assertions.assertThat(CacheWarmer.locs(SITEMAP_OTHER)).containsExactly(
+                "https://example.com/docs/other/search.html?q=a&b=c",
+                "https://example.com/docs/sitemap.xml");
+    }
+
+    @Test
+    void resolveLoc() {
+        final RouteTable routes = new RouteTable(RESOURCES);
+        /* site.url without a path */
+        Assertions.assertThat(CacheWarmer.resolveLoc(routes, "https://example.com/comp/2.0/index.html").getPath())
+                .isEqualTo("/comp/2.0/index.html");
+        /* site.url with a path */
+        Assertions.assertThat(CacheWarmer.resolveLoc(routes, "https://example.com/a/b/comp/2.0/my%20page.html").getPath())
+                .isEqualTo("/comp/2.0/my page.html");
+        Assertions.assertThat(CacheWarmer.resolveLoc(routes, "https://example.com/docs/comp/3.0/index.html")).isNull();
+        Assertions.assertThat(CacheWarmer.resolveLoc(routes, "not a URL")).isNull();
+    }
+
+    @Test
+    void hotPathsRoundTrip() throws IOException {
+        final RouteTable routes = new RouteTable(RESOURCES);
+        final Path file = Files.createTempDirectory(CacheWarmerTest.class.getSimpleName()).resolve("run/hot-paths.txt");
+
+        /* The first run has no hot paths yet */
+        Assertions.assertThat(paths(CacheWarmer.hotResources(routes, file, LOADER)))
+                .containsExactly("/comp/2.0/index.html", "/comp/2.0/my page.html", "/other/search.html");
+
+        final AtomicLongArray hits = new AtomicLongArray(RESOURCES.size());
+        hits.set(6, 30);
+        hits.set(4, 20);
+        hits.set(5, 10);
+        hits.set(3, 5);
+        CacheWarmer.writeHotPaths(file, routes, hits, 3);
+        Assertions.assertThat(Files.readAllLines(file, StandardCharsets.UTF_8))
+                .containsExactly("/_/css/site.css", "/comp/2.0/my page.html", "/other/search.html");
+        Assertions.assertThat(paths(CacheWarmer.hotResources(routes, file, LOADER)))
+                .containsExactly("/_/css/site.css", "/comp/2.0/my page.html", "/other/search.html");
+
+        /* A run without requests keeps the hot paths of the previous one */
+        CacheWarmer.writeHotPaths(file, routes, new AtomicLongArray(RESOURCES.size()), 3);
+        Assertions.assertThat(paths(CacheWarmer.hotResources(routes, file, LOADER)))
+                .containsExactly("/_/css/site.css", "/comp/2.0/my page.html", "/other/search.html");
+        try (var files = Files.list(file.getParent())) {
+            /* No temporary files left behind */
+            Assertions.assertThat(files.toList()).containsExactly(file);
+        }
+    }
+
+    @Test
+    void readHotPaths() {
+        final RouteTable routes = new RouteTable(RESOURCES);
+        Assertions.assertThat(paths(CacheWarmer.readHotPaths(routes, List.of(
+                "# Edited by hand",
+                "",
+                "  /comp/2.0/index.html  ",
+                "/comp/2.0/removed.html",
+                "/comp/2.0/index.html",
+                "/_/css/site.css"))))
+                .containsExactly("/comp/2.0/index.html", "/_/css/site.css");
+    }
+
+    static List<WebResource> resources(String... paths) {
+        final List<WebResource> result = new ArrayList<>();
+        for (String path : paths) {
+            result.add(WebResource.of(result.size(), path, path, String.valueOf(result.size()), 10, false, Set.of(),
+                    null));
+        }
+        return result;
+    }
+
+    static ResourceLoader loader(Map<String, String> contents) {
+        return path -> {
+            final String content = contents.get(path);
+            if (content == null) {
+                throw new IOException("No such resource " + path);
+            }
+            return content.getBytes(StandardCharsets.UTF_8);
+        };
+    }
+
+    static List<String> paths(List<WebResource> resources) {
+        return resources.stream().map(WebResource::getPath).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package io.quarkiverse.antora;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+
+public class MemoryResourceStoreTest {
+
+    @Test
+    void loadGetEvict() {
+        final List<String> loaded = new ArrayList<>();
+        final MemoryResourceStore store = new MemoryResourceStore(40, path -> {
+            loaded.add(path);
+            return content(path);
+        });
+        Assertions.assertThat(store.get("/a")).isNull();
+
+        final Buffer a = store.load("/a");
+        Assertions.assertThat(a.getBytes()).isEqualTo(content("/a"));
+        Assertions.assertThat(store.get("/a")).isSameAs(a);
+        Assertions.assertThat(store.load("/a")).isSameAs(a);
+        Assertions.assertThat(loaded).containsExactly("/a");
+        Assertions.assertThat(store.size()).isEqualTo(10L);
+
+        store.evict(List.of("/a", "/unknown"));
+        Assertions.assertThat(store.get("/a")).isNull();
+        Assertions.assertThat(store.size()).isEqualTo(0L);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() throws InterruptedException {
+        final MemoryResourceStore store = new MemoryResourceStore(40, MemoryResourceStoreTest::content);
+        for (String path : List.of("/a", "/b", "/c", "/d")) {
+            store.load(path);
+            /* Distinct access times */
+            Thread.sleep(1);
+        }
+        store.get("/a");
+        Thread.sleep(1);
+        Assertions.assertThat(store.size()).isEqualTo(40L);
+
+        /* Needs 10 bytes plus a headroom of 5, so the two least recently used entries go */
+        Assertions.assertThat(store.load("/e").getBytes()).isEqualTo(content("/e"));
+        Assertions.assertThat(store.size()).isEqualTo(30L);
+        Assertions.assertThat(store.get("/b")).isNull();
+        Assertions.assertThat(store.get("/c")).isNull();
+        Assertions.assertThat(store.get("/a")).isNotNull();
+        Assertions.assertThat(store.get("/d")).isNotNull();
+        Assertions.assertThat(store.get("/e")).isNotNull();
+
+        /* Fits into the headroom */
+        store.load("/f");
+        Assertions.assertThat(store.size()).isEqualTo(40L);
+        Assertions.assertThat(store.get("/a")).isNotNull();
+    }
+
+    @Test
+    void tooLarge() {
+        final MemoryResourceStore store = new MemoryResourceStore(5, MemoryResourceStoreTest::content);
+        Assertions.assertThat(store.load("/a")).isNull();
+        Assertions.assertThat(store.isTooLarge("/a")).isTrue();
+        Assertions.assertThat(store.isTooLarge("/b")).isFalse();
+        Assertions.assertThat(store.size()).isEqualTo(0L);
+    }
+
+    @Test
+    void preloadNeverEvicts() {
+        final MemoryResourceStore store = new MemoryResourceStore(25, MemoryResourceStoreTest::content);
+        store.load("/a");
+        final List<WebResource> resources = List.of(
+                resource(0, "/b", 10),
+                resource(1, "/c", 10),
+                resource(2, "/big", 30));
+        Assertions.assertThat(store.preload(resources)).isEqualTo(1);
+        Assertions.assertThat(store.get("/a")).isNotNull();
+        Assertions.assertThat(store.get("/b")).isNotNull();
+        Assertions.assertThat(store.get("/c")).isNull();
+        Assertions.assertThat(store.isTooLarge("/big")).isTrue();
+        Assertions.assertThat(store.size()).isEqualTo(20L);
+    }
+
+    static byte[] content(String path) {
+        final byte[] result = new byte[10];
+        Arrays.fill(result, (byte) path.charAt(1));
+        return result;
+    }
+
+    static WebResource resource(int index, String path, long length) {
+        return WebResource.of(index, path, path, String.valueOf(index), length, false, Set.of(), null);
+    }
+}
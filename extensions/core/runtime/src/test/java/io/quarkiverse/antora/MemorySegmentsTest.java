@@ -0,0 +1,126 @@
+package io.quarkiverse.antora;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MemorySegmentsTest {
+    private static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toNanos(4);
+
+    /** Stored only once, under the path of version 1.0 */
+    private static final String SHARED = "/comp/1.0/_images/logo.png";
+    private static final List<WebResource> RESOURCES = List.of(
+            resource(0, "/comp/1.0/index.html", "/comp/1.0/index.html"),
+            resource(1, SHARED, SHARED),
+            resource(2, "/comp/2.0/index.html", "/comp/2.0/index.html"),
+            resource(3, "/comp/2.0/_images/logo.png", SHARED));
+    private static final WebResource V1 = RESOURCES.get(0);
+    private static final WebResource V2 = RESOURCES.get(2);
+
+    @Test
+    void segment() {
+        Assertions.assertThat(MemorySegments.segment("/comp/2.0/index.html")).isEqualTo("/comp/2.0/");
+        Assertions.assertThat(MemorySegments.segment("/comp/2.0/_images/logo.png")).isEqualTo("/comp/2.0/");
+        Assertions.assertThat(MemorySegments.segment("/comp/index.html")).isEqualTo("/comp/");
+        Assertions.assertThat(MemorySegments.segment("/_/css/site.css")).isEqualTo("/_/");
+        Assertions.assertThat(MemorySegments.segment("/sitemap.xml")).isEqualTo("/");
+    }
+
+    @Test
+    void sharedPathSurvivesEviction() {
+        final MemoryResourceStore store = new MemoryResourceStore(1024, path -> new byte[10]);
+        final MemorySegments segments = new MemorySegments(store, new RouteTable(RESOURCES), RESOURCES, IDLE_TIMEOUT);
+        final long start = System.nanoTime();
+        segments.load(segments.touch(V1, start));
+        segments.load(segments.touch(V2, start));
+        Assertions.assertThat(store.size()).isEqualTo(30L);
+        /* Loading once is enough */
+        Assertions.assertThat(segments.touch(V1, start)).isEqualTo(-1);
+
+        /* Only 1.0 is idle */
+        segments.touch(V2, start + IDLE_TIMEOUT);
+        segments.evictIdle(start + IDLE_TIMEOUT + 1);
+        Assertions.assertThat(store.get(V1.getResourcePath())).isNull();
+        Assertions.assertThat(store.get(SHARED)).isNotNull();
+        Assertions.assertThat(store.get(V2.getResourcePath())).isNotNull();
+
+        /* The last segment holding the shared path is gone */
+        segments.evictIdle(start + 2 * IDLE_TIMEOUT + 1);
+        Assertions.assertThat(store.get(SHARED)).isNull();
+        Assertions.assertThat(store.size()).isEqualTo(0L);
+    }
+
+    @Test
+    void reloadAfterEviction() {
+        final MemoryResourceStore store = new MemoryResourceStore(1024, path -> new byte[10]);
+        final MemorySegments segments = new MemorySegments(store, new RouteTable(RESOURCES), RESOURCES, IDLE_TIMEOUT);
+        final long start = System.nanoTime();
+        final int segment = segments.touch(V1, start);
+        segments.load(segment);
+        segments.evictIdle(start + IDLE_TIMEOUT + 1);
+        Assertions.assertThat(store.size()).isEqualTo(0L);
+
+        Assertions.assertThat(segments.touch(V1, start + IDLE_TIMEOUT + 2)).isEqualTo(segment);
+        segments.load(segment);
+        Assertions.assertThat(store.get(V1.getResourcePath())).isNotNull();
+        Assertions.assertThat(store.get(SHARED)).isNotNull();
+        /* Requested recently, so it stays */
+        segments.evictIdle(start + IDLE_TIMEOUT + 3);
+        Assertions.assertThat(store.get(V1.getResourcePath())).isNotNull();
+    }
+
+    @Test
+    void failedLoadReleasesClaims() {
+        final String broken = "/comp/1.0/broken.html";
+        final List<WebResource> resources = List.of(
+                resource(0, "/comp/1.0/index.html", "/comp/1.0/index.html"),
+                resource(1, SHARED, SHARED),
+                resource(2, broken, broken),
+                resource(3, "/comp/2.0/_images/logo.png", SHARED));
+        final MemoryResourceStore store = new MemoryResourceStore(1024, path -> {
+            if (path.equals(broken)) {
+                throw new IOException("Cannot read " + path);
+            }
+            return new byte[10];
+        });
+        final MemorySegments segments = new MemorySegments(store, new RouteTable(resources), resources, IDLE_TIMEOUT);
+        final long start = System.nanoTime();
+        segments.load(segments.touch(resources.get(3), start));
+
+        final int failing = segments.touch(resources.get(0), start);
+        Assertions.assertThat(failing).isGreaterThan(-1);
+        Assertions.assertThatThrownBy(() -> segments.load(failing)).isInstanceOf(UncheckedIOException.class);
+        /* The next request retries */
+        Assertions.assertThat(segments.touch(resources.get(0), start + 1)).isEqualTo(failing);
+
+        /* Back to unloaded without holding any paths, so that evicting 2.0 drops the shared path */
+        segments.evictIdle(start + IDLE_TIMEOUT + 1);
+        Assertions.assertThat(store.get(SHARED)).isNull();
+        Assertions.assertThat(store.get("/comp/1.0/index.html")).isNull();
+        Assertions.assertThat(store.size()).isEqualTo(0L);
+    }
+
+    @Test
+    void claimSweep() {
+        final MemoryResourceStore store = new MemoryResourceStore(1024, path -> new byte[10]);
+        final MemorySegments segments = new MemorySegments(store, new RouteTable(RESOURCES), RESOURCES, IDLE_TIMEOUT);
+        final long created = System.nanoTime();
+        final long interval = IDLE_TIMEOUT / 4;
+
+        Assertions.assertThat(segments.claimSweep(created)).isFalse();
+        Assertions.assertThat(segments.claimSweep(created + interval)).isTrue();
+        /* Concurrent requests */
+        Assertions.assertThat(segments.claimSweep(created + interval)).isFalse();
+        Assertions.assertThat(segments.claimSweep(created + 2 * interval - 1)).isFalse();
+        Assertions.assertThat(segments.claimSweep(created + 2 * interval)).isTrue();
+    }
+
+    static WebResource resource(int index, String path, String resourcePath) {
+        return WebResource.of(index, path, resourcePath, String.valueOf(index), 10, false, Set.of(), null);
+    }
+}
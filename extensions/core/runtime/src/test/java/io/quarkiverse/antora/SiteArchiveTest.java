@@ -0,0 +1,117 @@
+package io.quarkiverse.antora;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+
+public class SiteArchiveTest {
+    private static final Set<String> COMPRESS_MEDIA_TYPES = Set.of("text/html", "text/css", "text/plain");
+
+    @Test
+    void gzipBody() throws IOException {
+        final byte[] page = "<html><body>%s</body></html>".formatted("<p>Hello Antora</p>\n".repeat(200))
+                .getBytes(StandardCharsets.UTF_8);
+        final byte[] css = "body { color: #333; }\n".repeat(50).getBytes(StandardCharsets.UTF_8);
+        final byte[] text = "Stored rather than deflated".getBytes(StandardCharsets.UTF_8);
+        final byte[] png = { (byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3 };
+
+        final Path jar = Files.createTempDirectory(SiteArchiveTest.class.getSimpleName()).resolve("site.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            putDeflated(zip, "META-INF/antora/comp/dev/index.html", page);
+            /* Makes the lengths of the local and the central header differ */
+            final ZipEntry cssEntry = new ZipEntry("META-INF/antora/_/css/site.css");
+            cssEntry.setComment("The stylesheet of the UI bundle");
+            zip.putNextEntry(cssEntry);
+            zip.write(css);
+            zip.closeEntry();
+            putStored(zip, "META-INF/antora/comp/dev/notes.txt", text);
+            putStored(zip, "META-INF/antora/comp/dev/_images/logo.png", png);
+            zip.setComment("An archive comment preceding the end of the central directory");
+        }
+
+        final List<WebResource> resources = List.of(
+                resource(0, "/comp/dev/index.html", "/comp/dev/index.html", page),
+                /* The same content stored only once */
+                resource(1, "/comp/1.0/index.html", "/comp/dev/index.html", page),
+                resource(2, "/_/css/site.css", "/_/css/site.css", css),
+                resource(3, "/comp/dev/notes.txt", "/comp/dev/notes.txt", text),
+                resource(4, "/comp/dev/_images/logo.png", "/comp/dev/_images/logo.png", png));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toUri().toURL() }, null)) {
+            final SiteArchive archive = SiteArchive.open(new RouteTable(resources), classLoader);
+            Assertions.assertThat(archive).isNotNull();
+
+            Assertions.assertThat(gunzip(archive.gzipBody(resources.get(0)))).isEqualTo(page);
+            Assertions.assertThat(gunzip(archive.gzipBody(resources.get(1)))).isEqualTo(page);
+            Assertions.assertThat(gunzip(archive.gzipBody(resources.get(2)))).isEqualTo(css);
+            Assertions.assertThat(archive.gzipEtag(resources.get(0))).isEqualTo("\"0-gz\"");
+            Assertions.assertThat(archive.gzipEtag(resources.get(2))).isEqualTo("\"2-gz\"");
+
+            /* Stored entries have no deflate stream to reuse */
+            Assertions.assertThat(archive.gzipBody(resources.get(3))).isNull();
+            Assertions.assertThat(archive.gzipEtag(resources.get(3))).isNull();
+            /* Not compressible */
+            Assertions.assertThat(archive.gzipBody(resources.get(4))).isNull();
+        }
+    }
+
+    @Test
+    void gzipEtag() {
+        Assertions.assertThat(SiteArchive.gzipEtag("\"0123abcd\"")).isEqualTo("\"0123abcd-gz\"");
+    }
+
+    @Test
+    void acceptsGzip() {
+        Assertions.assertThat(SiteArchive.acceptsGzip("gzip, deflate, br")).isTrue();
+        Assertions.assertThat(SiteArchive.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        Assertions.assertThat(SiteArchive.acceptsGzip("*")).isTrue();
+        Assertions.assertThat(SiteArchive.acceptsGzip("gzip;q=0")).isFalse();
+        Assertions.assertThat(SiteArchive.acceptsGzip("br, deflate")).isFalse();
+        Assertions.assertThat(SiteArchive.acceptsGzip(null)).isFalse();
+    }
+
+    static WebResource resource(int index, String path, String resourcePath, byte[] content) {
+        return WebResource.of(index, path, resourcePath, String.valueOf(index), content.length, false,
+                COMPRESS_MEDIA_TYPES, null);
+    }
+
+    private static void putDeflated(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static void putStored(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static byte[] gunzip(Buffer gzip) throws IOException {
+        /* GZIPInputStream verifies the CRC-32 and the size in the trailer */
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBytes()))) {
+            return in.readAllBytes();
+        }
+    }
+}
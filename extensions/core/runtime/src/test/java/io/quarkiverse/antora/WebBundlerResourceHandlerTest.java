@@ -0,0 +1,51 @@
+package io.quarkiverse.antora;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WebBundlerResourceHandlerTest {
+
+    @Test
+    void etagMatches() {
+        final String etag = "\"0123abcd\"";
+        final String gzipEtag = SiteArchive.gzipEtag(etag);
+
+        /* A client having cached the identity encoding */
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches(etag, etag, gzipEtag)).isTrue();
+        /* A client having cached the gzip encoding served from the archive */
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches(gzipEtag, etag, gzipEtag)).isTrue();
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches("W/" + gzipEtag, etag, gzipEtag)).isTrue();
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches("\"foo\", " + gzipEtag, etag, gzipEtag)).isTrue();
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches("*", etag, gzipEtag)).isTrue();
+
+        /* Served without the archive, the gzip entity tag is stale */
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches(gzipEtag, etag, null)).isFalse();
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches("\"foo\"", etag, gzipEtag)).isFalse();
+
+        /* A client having cached a response compressed on the fly */
+        Assertions.assertThat(WebBundlerResourceHandler.etagMatches(WebBundlerResourceHandler.weakEtag(etag), etag, null))
+                .isTrue();
+    }
+
+    @Test
+    void weakEtag() {
+        Assertions.assertThat(WebBundlerResourceHandler.weakEtag("\"0123abcd\"")).isEqualTo("W/\"0123abcd\"");
+    }
+
+    @Test
+    void isCompressed() {
+        Assertions.assertThat(WebBundlerResourceHandler.isCompressed("gzip")).isTrue();
+        Assertions.assertThat(WebBundlerResourceHandler.isCompressed("br")).isTrue();
+        /* Set by Quarkus if HTTP compression is enabled and left in place for incompressible resources */
+        Assertions.assertThat(WebBundlerResourceHandler.isCompressed("identity")).isFalse();
+        Assertions.assertThat(WebBundlerResourceHandler.isCompressed(null)).isFalse();
+    }
+
+    @Test
+    void acceptsCompression() {
+        Assertions.assertThat(WebBundlerResourceHandler.acceptsCompression("gzip, deflate")).isTrue();
+        Assertions.assertThat(WebBundlerResourceHandler.acceptsCompression("br")).isTrue();
+        Assertions.assertThat(WebBundlerResourceHandler.acceptsCompression("identity")).isFalse();
+        Assertions.assertThat(WebBundlerResourceHandler.acceptsCompression(null)).isFalse();
+    }
+}